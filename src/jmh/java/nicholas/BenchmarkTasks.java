@@ -0,0 +1,31 @@
+package nicholas;
+
+/**
+ * Generates task records for benchmarks, in the same format {@code Storage} writes them.
+ */
+public class BenchmarkTasks {
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun",
+        "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    /**
+     * Returns the record of the i-th generated task, cycling through todos, deadlines and events.
+     *
+     * @param i The index of the task.
+     * @return The task record.
+     */
+    public static String record(int i) {
+        String status = i % 4 == 0 ? "X" : " ";
+        String priority = PRIORITIES[i % PRIORITIES.length];
+        String date = MONTHS[i % MONTHS.length] + " " + String.format("%02d", i % 28 + 1) + " 2026 1000";
+        switch (i % 3) {
+        case 0:
+            return "[T][" + status + "] read chapter " + i + " (Priority: " + priority + ")";
+        case 1:
+            return "[D][" + status + "] submit report " + i + " (Priority: " + priority + ") (by: " + date + ")";
+        default:
+            return "[E][" + status + "] project meeting " + i + " (Priority: " + priority + ") (from: "
+                    + date + " to: " + date + ")";
+        }
+    }
+}
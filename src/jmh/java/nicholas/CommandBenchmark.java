@@ -0,0 +1,102 @@
+package nicholas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import nicholas.command.Command;
+import nicholas.command.CommandRegistry;
+import nicholas.exception.DukeException;
+import nicholas.tasks.TaskList;
+
+/**
+ * Measures the command engine on its own, with no storage or rendering: parsing a mix of user commands,
+ * and executing commands that were parsed ahead of time against a fresh task list.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=CommandBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CommandBenchmark {
+    private static final int COMMAND_COUNT = 10_000;
+
+    private final CommandRegistry registry = CommandRegistry.withDefaultCommands();
+    private String[] inputs;
+    private List<Command> commands;
+
+    /**
+     * Generates commands that add tasks and then change the tasks they added.
+     */
+    @Setup
+    public void generateCommands() throws DukeException {
+        inputs = new String[COMMAND_COUNT];
+        for (int i = 0; i < COMMAND_COUNT; i++) {
+            int taskNumber = i / 2 + 1;
+            switch (i % 6) {
+            case 0:
+                inputs[i] = "todo read chapter " + i;
+                break;
+            case 2:
+                inputs[i] = "deadline submit report " + i + " /by 2026-10-" + String.format("%02d", i % 28 + 1)
+                        + " 1000";
+                break;
+            case 4:
+                inputs[i] = "event project meeting " + i + " /from 2026-10-01 1000 /to 2026-10-02 1200";
+                break;
+            case 1:
+                inputs[i] = "mark " + taskNumber;
+                break;
+            case 3:
+                inputs[i] = "upgrade " + taskNumber;
+                break;
+            default:
+                inputs[i] = "unmark " + taskNumber;
+                break;
+            }
+        }
+        commands = new ArrayList<>();
+        for (String input : inputs) {
+            commands.add(registry.parse(input));
+        }
+    }
+
+    /**
+     * Parses every command from its input text.
+     */
+    @Benchmark
+    @OperationsPerInvocation(COMMAND_COUNT)
+    public void parse(Blackhole blackhole) throws DukeException {
+        for (String input : inputs) {
+            blackhole.consume(registry.parse(input));
+        }
+    }
+
+    /**
+     * Executes the parsed commands against a new task list.
+     */
+    @Benchmark
+    @OperationsPerInvocation(COMMAND_COUNT)
+    public TaskList execute() {
+        TaskList taskList = new TaskList();
+        for (Command command : commands) {
+            command.execute(taskList);
+        }
+        return taskList;
+    }
+}
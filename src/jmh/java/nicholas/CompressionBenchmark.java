@@ -0,0 +1,93 @@
+package nicholas;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import nicholas.storage.CompressedTaskStore;
+import nicholas.storage.LoadMode;
+import nicholas.storage.TaskStore;
+import nicholas.storage.TextTaskStore;
+import nicholas.tasks.Task;
+import nicholas.ui.Parser;
+
+/**
+ * Compares plain and gzip-compressed text snapshots: the time to save and load them,
+ * and the size of the file, which is printed once per trial.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=CompressionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class CompressionBenchmark {
+    @Param({"text", "gzip"})
+    private String format;
+
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    private Path taskFile;
+    private TaskStore store;
+    private List<Task> tasks;
+
+    /**
+     * Generates the tasks and writes them once, so the load benchmark has a file to read.
+     */
+    @Setup(Level.Trial)
+    public void writeTaskFile() throws IOException {
+        taskFile = Files.createTempFile("tasks", ".txt");
+        store = format.equals("gzip") ? new CompressedTaskStore(taskFile)
+                : new TextTaskStore(taskFile, LoadMode.SEQUENTIAL);
+        Parser parser = new Parser();
+        tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(parser.parseTask(BenchmarkTasks.record(i)));
+        }
+        store.save(tasks, 1);
+    }
+
+    /**
+     * Reports the size of the file and removes it.
+     */
+    @TearDown(Level.Trial)
+    public void deleteTaskFile() throws IOException {
+        System.out.printf("%n%s snapshot of %d tasks: %d bytes%n", format, taskCount, Files.size(taskFile));
+        Files.deleteIfExists(taskFile);
+    }
+
+    /**
+     * Writes every task to the file.
+     */
+    @Benchmark
+    public void save() throws IOException {
+        store.save(tasks, 1);
+    }
+
+    /**
+     * Reads and parses every task in the file.
+     */
+    @Benchmark
+    public List<Task> load() throws IOException {
+        return store.load();
+    }
+}
@@ -0,0 +1,83 @@
+package nicholas;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import nicholas.tasks.Deadline;
+import nicholas.tasks.Event;
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskDates;
+import nicholas.tasks.TaskList;
+import nicholas.ui.TaskRecordParser;
+
+/**
+ * Compares finding the tasks due in one day through the task list's time index with checking the date of
+ * every task. Run with {@code ./gradlew jmh -Pjmh.includes=DueBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class DueBenchmark {
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 3, 3, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 3, 4, 0, 0);
+
+    @Param({"100000"})
+    private int taskCount;
+
+    private TaskList taskList;
+
+    /**
+     * Generates the tasks and builds the time index with a first query.
+     */
+    @Setup
+    public void generateTasks() {
+        taskList = new TaskList();
+        for (int i = 0; i < taskCount; i++) {
+            taskList.addTask(TaskRecordParser.parse(BenchmarkTasks.record(i)));
+        }
+        taskList.findTasksDueBetween(FROM, TO);
+    }
+
+    /**
+     * Finds the tasks through the time index.
+     */
+    @Benchmark
+    public List<Task> dueIndexed() {
+        return taskList.findTasksDueBetween(FROM, TO);
+    }
+
+    /**
+     * Finds the tasks by checking the due or start time of every task.
+     */
+    @Benchmark
+    public List<Task> dueByScan() {
+        long fromMinute = TaskDates.toEpochMinute(FROM);
+        long toMinute = TaskDates.toEpochMinute(TO);
+        List<Task> tasks = new ArrayList<>();
+        for (Task task : taskList.getTasks()) {
+            long minute = task instanceof Deadline ? ((Deadline) task).getByMinute()
+                    : task instanceof Event ? ((Event) task).getFromMinute() : Long.MIN_VALUE;
+            if (minute >= fromMinute && minute < toMinute) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+}
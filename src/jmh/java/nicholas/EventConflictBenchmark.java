@@ -0,0 +1,82 @@
+package nicholas;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import nicholas.tasks.Event;
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskList;
+
+/**
+ * Compares finding the events that overlap a new event through the task list's interval tree with
+ * comparing it against every event. Run with {@code ./gradlew jmh -Pjmh.includes=EventConflictBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class EventConflictBenchmark {
+    @Param({"100000"})
+    private int eventCount;
+
+    private TaskList taskList;
+    private Event event;
+
+    /**
+     * Generates events of half an hour to three and a half hours spread over a year, and builds the
+     * interval tree with a first query.
+     */
+    @Setup
+    public void generateEvents() {
+        Random random = new Random(42);
+        LocalDateTime yearStart = LocalDateTime.of(2026, 1, 1, 0, 0);
+        taskList = new TaskList();
+        for (int i = 0; i < eventCount; i++) {
+            LocalDateTime from = yearStart.plusMinutes(random.nextInt(365 * 24 * 60));
+            taskList.addTask(new Event("event " + i, from, from.plusMinutes(30 + random.nextInt(180))));
+        }
+        event = (Event) taskList.getTasks().get(eventCount / 2);
+        taskList.findConflictingEvents(event);
+    }
+
+    /**
+     * Finds the overlapping events through the interval tree.
+     */
+    @Benchmark
+    public List<Event> conflictsIndexed() {
+        return taskList.findConflictingEvents(event);
+    }
+
+    /**
+     * Finds the overlapping events by comparing the event with every other event.
+     */
+    @Benchmark
+    public List<Event> conflictsByScan() {
+        List<Event> conflicts = new ArrayList<>();
+        for (Task task : taskList.getTasks()) {
+            Event other = (Event) task;
+            if (other != event && other.getFromMinute() < event.getToMinute()
+                    && other.getToMinute() > event.getFromMinute()) {
+                conflicts.add(other);
+            }
+        }
+        return conflicts;
+    }
+}
@@ -0,0 +1,75 @@
+package nicholas;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import nicholas.tasks.Priority;
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskFilter;
+import nicholas.tasks.TaskList;
+import nicholas.ui.TaskRecordParser;
+
+/**
+ * Compares counting the undone medium-priority deadlines through the task list's bitmap indexes with
+ * checking every task. Run with {@code ./gradlew jmh -Pjmh.includes=FilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class FilterBenchmark {
+    private static final TaskFilter FILTER = TaskFilter.ALL.withDone(false).withPriority(Priority.MEDIUM)
+            .withTaskType("D");
+
+    @Param({"100000"})
+    private int taskCount;
+
+    private TaskList taskList;
+
+    /**
+     * Generates the tasks and builds the bitmap indexes with a first count.
+     */
+    @Setup
+    public void generateTasks() {
+        taskList = new TaskList();
+        for (int i = 0; i < taskCount; i++) {
+            taskList.addTask(TaskRecordParser.parse(BenchmarkTasks.record(i)));
+        }
+        taskList.countTasks(FILTER);
+    }
+
+    /**
+     * Counts by intersecting the bitmaps.
+     */
+    @Benchmark
+    public int countIndexed() {
+        return taskList.countTasks(FILTER);
+    }
+
+    /**
+     * Counts by checking the status, priority and type of every task.
+     */
+    @Benchmark
+    public int countByScan() {
+        int count = 0;
+        for (Task task : taskList.getTasks()) {
+            if (FILTER.matches(task)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,68 @@
+package nicholas;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskList;
+import nicholas.ui.TaskRecordParser;
+
+/**
+ * Compares a keyword search through the task list's keyword index with a scan of every description.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=FindBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class FindBenchmark {
+    @Param({"100000"})
+    private int taskCount;
+
+    @Param({"chapter 4242", "report | meeting"})
+    private String query;
+
+    private TaskList taskList;
+
+    /**
+     * Generates the tasks and builds the keyword index with a first search.
+     */
+    @Setup
+    public void generateTasks() {
+        taskList = new TaskList();
+        for (int i = 0; i < taskCount; i++) {
+            taskList.addTask(TaskRecordParser.parse(BenchmarkTasks.record(i)));
+        }
+        taskList.findTasks(query);
+    }
+
+    /**
+     * Searches through the keyword index.
+     */
+    @Benchmark
+    public List<Task> findIndexed() {
+        return taskList.findTasks(query);
+    }
+
+    /**
+     * Scans every description for the first search term, as find used to.
+     */
+    @Benchmark
+    public List<Task> findByScan() {
+        return taskList.findTasksContaining(query.split(" ")[0]);
+    }
+}
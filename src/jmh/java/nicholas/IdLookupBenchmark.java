@@ -0,0 +1,84 @@
+package nicholas;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskList;
+import nicholas.ui.TaskRecordParser;
+
+/**
+ * Compares finding a task by its id through the task list's id index, and its position by a binary search
+ * over the ids, with checking every task. Run with {@code ./gradlew jmh -Pjmh.includes=IdLookupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class IdLookupBenchmark {
+    @Param({"100000"})
+    private int taskCount;
+
+    private TaskList taskList;
+    private long id;
+
+    /**
+     * Generates the tasks, deletes every tenth so ids and positions differ, and builds the id index.
+     */
+    @Setup
+    public void generateTasks() {
+        taskList = new TaskList();
+        for (int i = 0; i < taskCount; i++) {
+            taskList.addTask(TaskRecordParser.parse(BenchmarkTasks.record(i)));
+        }
+        for (int i = taskCount - 1; i >= 0; i -= 10) {
+            taskList.deleteTask(i);
+        }
+        id = taskList.getTasks().get(taskList.size() * 3 / 4).getId();
+        taskList.getTaskById(id);
+    }
+
+    /**
+     * Looks the task up in the id index.
+     */
+    @Benchmark
+    public Task getById() {
+        return taskList.getTaskById(id);
+    }
+
+    /**
+     * Finds the position of the task by a binary search over the ids.
+     */
+    @Benchmark
+    public int indexOfId() {
+        return taskList.indexOfTaskId(id);
+    }
+
+    /**
+     * Finds the position of the task by checking the id of every task before it.
+     */
+    @Benchmark
+    public int indexOfIdByScan() {
+        int position = 0;
+        for (Task task : taskList.getTasks()) {
+            if (task.getId() == id) {
+                return position;
+            }
+            position++;
+        }
+        return -1;
+    }
+}
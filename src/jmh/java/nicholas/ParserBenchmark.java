@@ -0,0 +1,70 @@
+package nicholas;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import nicholas.ui.Parser;
+import nicholas.ui.TaskRecordParser;
+
+/**
+ * Measures how many stored task records per second the regex-based legacy parser and the
+ * single-pass {@link TaskRecordParser} can turn back into tasks.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=ParserBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+    private static final int RECORD_COUNT = 10_000;
+
+    private final Parser parser = new Parser();
+    private String[] records;
+
+    /**
+     * Generates a mix of todo, deadline and event records.
+     */
+    @Setup
+    public void generateRecords() {
+        records = new String[RECORD_COUNT];
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            records[i] = BenchmarkTasks.record(i);
+        }
+    }
+
+    /**
+     * Parses the records with the regex splits {@link Parser} used to rely on.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORD_COUNT)
+    public void parseLegacy(Blackhole blackhole) {
+        for (String record : records) {
+            blackhole.consume(parser.parseTaskLegacy(record));
+        }
+    }
+
+    /**
+     * Parses the records in one scan with {@link TaskRecordParser}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORD_COUNT)
+    public void parseSinglePass(Blackhole blackhole) {
+        for (String record : records) {
+            blackhole.consume(TaskRecordParser.parse(record));
+        }
+    }
+}
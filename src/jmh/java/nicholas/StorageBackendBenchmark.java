@@ -0,0 +1,108 @@
+package nicholas;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import nicholas.storage.Durability;
+import nicholas.storage.StorageBackend;
+import nicholas.storage.StorageConfig;
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskList;
+import nicholas.tasks.Todo;
+import nicholas.ui.Parser;
+import nicholas.ui.Storage;
+
+/**
+ * Runs the same workload against every storage backend: load a snapshot, apply a burst of commands
+ * with a persist after each one, then save a checkpoint.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=StorageBackendBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class StorageBackendBenchmark {
+    private static final int COMMAND_COUNT = 1000;
+
+    @Param({"MEMORY", "TEXT", "BINARY", "BINARY_SINGLE_READ"})
+    private StorageBackend backend;
+
+    @Param({"100000"})
+    private int taskCount;
+
+    private Path directory;
+    private StorageConfig config;
+
+    /**
+     * Writes a snapshot of generated tasks with the backend under test.
+     */
+    @Setup(Level.Iteration)
+    public void writeSnapshot() throws IOException {
+        directory = Files.createTempDirectory("tasks");
+        config = StorageConfig.defaults().withBackend(backend).withDurability(Durability.ON_EXIT);
+        Parser parser = new Parser();
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(parser.parseTask(BenchmarkTasks.record(i)));
+        }
+        new Storage(taskFile(), config).saveTasks(tasks);
+    }
+
+    /**
+     * Removes the snapshot and journal.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteSnapshot() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private String taskFile() {
+        return directory.resolve("tasks.txt").toString();
+    }
+
+    /**
+     * Loads the snapshot, adds and marks tasks one command at a time, and takes a final checkpoint.
+     */
+    @Benchmark
+    public int workload() throws IOException {
+        Storage storage = new Storage(taskFile(), config);
+        TaskList taskList = storage.loadTaskList();
+        for (int i = 0; i < COMMAND_COUNT; i++) {
+            if (i % 2 == 0) {
+                taskList.addTask(new Todo("benchmark task " + i));
+            } else {
+                taskList.markTaskAsDone(i);
+            }
+            storage.persist(taskList);
+        }
+        storage.saveTasks(taskList);
+        storage.close();
+        return taskList.size();
+    }
+}
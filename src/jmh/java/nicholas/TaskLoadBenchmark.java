@@ -0,0 +1,104 @@
+package nicholas;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import nicholas.storage.LoadMode;
+import nicholas.storage.StorageConfig;
+import nicholas.tasks.Task;
+import nicholas.ui.Parser;
+import nicholas.ui.Storage;
+
+/**
+ * Measures how long it takes to load task files of different sizes.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class TaskLoadBenchmark {
+    @Param({"100000", "1000000"})
+    private int lineCount;
+
+    private Path taskFile;
+
+    /**
+     * Writes a task file with an even mix of todos, deadlines and events.
+     */
+    @Setup(Level.Trial)
+    public void writeTaskFile() throws IOException {
+        taskFile = Files.createTempFile("tasks", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(taskFile, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lineCount; i++) {
+                writer.write(BenchmarkTasks.record(i));
+                writer.write("\n");
+            }
+        }
+    }
+
+    /**
+     * Removes the generated task file.
+     */
+    @TearDown(Level.Trial)
+    public void deleteTaskFile() throws IOException {
+        Files.deleteIfExists(taskFile);
+    }
+
+    /**
+     * Loads the file the way {@code Storage} used to: a {@link Scanner} and a new parser per line.
+     */
+    @Benchmark
+    public List<Task> scannerLoad() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        try (Scanner scanner = new Scanner(new File(taskFile.toString()), StandardCharsets.UTF_8)) {
+            while (scanner.hasNextLine()) {
+                Parser taskParser = new Parser();
+                tasks.add(taskParser.parseTask(scanner.nextLine()));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Loads the file through {@link Storage}, which reads it in blocks through a file channel.
+     */
+    @Benchmark
+    public List<Task> channelLoad() throws IOException {
+        StorageConfig config = StorageConfig.defaults().withLoadMode(LoadMode.SEQUENTIAL);
+        return new Storage(taskFile.toString(), config).loadTasks();
+    }
+
+    /**
+     * Loads the file through {@link Storage} with its chunks parsed in parallel on the common fork-join pool.
+     */
+    @Benchmark
+    public List<Task> parallelLoad() throws IOException {
+        StorageConfig config = StorageConfig.defaults().withLoadMode(LoadMode.PARALLEL);
+        return new Storage(taskFile.toString(), config).loadTasks();
+    }
+}
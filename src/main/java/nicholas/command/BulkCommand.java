@@ -0,0 +1,79 @@
+package nicholas.command;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskList;
+
+/**
+ * Marks, unmarks, deletes, upgrades or downgrades every task in a {@link TaskSelection} in one pass.
+ * Deleting compacts the list once rather than shifting it for each deleted task.
+ */
+public class BulkCommand implements Command {
+    /**
+     * Represents what a bulk command does to each selected task.
+     */
+    public enum Action {
+        MARK(CommandResult.Kind.MARKED),
+        UNMARK(CommandResult.Kind.UNMARKED),
+        DELETE(CommandResult.Kind.DELETED),
+        UPGRADE(CommandResult.Kind.UPGRADED),
+        DOWNGRADE(CommandResult.Kind.DOWNGRADED);
+
+        private final CommandResult.Kind resultKind;
+
+        Action(CommandResult.Kind resultKind) {
+            this.resultKind = resultKind;
+        }
+    }
+
+    private final Action action;
+    private final TaskSelection selection;
+
+    /**
+     * Constructs a BulkCommand.
+     *
+     * @param action What to do to each selected task.
+     * @param selection The tasks to act on.
+     */
+    public BulkCommand(Action action, TaskSelection selection) {
+        this.action = action;
+        this.selection = selection;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        BitSet positions = selection.select(taskList);
+        if (action == Action.DELETE) {
+            List<Task> deletedTasks = taskList.deleteTasks(positions);
+            return new CommandResult(action.resultKind, deletedTasks, taskList.size(), null);
+        }
+        List<Task> changedTasks = new ArrayList<>();
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            switch (action) {
+            case MARK:
+                taskList.markTaskAsDone(i);
+                break;
+            case UNMARK:
+                taskList.markTaskAsUndone(i);
+                break;
+            case UPGRADE:
+                taskList.upgradeTask(i);
+                break;
+            case DOWNGRADE:
+                taskList.downgradeTask(i);
+                break;
+            default:
+                throw new IllegalStateException("Unknown bulk action: " + action);
+            }
+            changedTasks.add(taskList.getTasks().get(i));
+        }
+        return new CommandResult(action.resultKind, changedTasks, taskList.size(), null);
+    }
+}
@@ -0,0 +1,27 @@
+package nicholas.command;
+
+import nicholas.tasks.TaskList;
+
+/**
+ * Represents a user command that has already been parsed and validated by a {@link CommandRegistry}.
+ * Executing it only touches the task list; showing the result is left to the CLI or the GUI.
+ */
+public interface Command {
+
+    /**
+     * Runs the command against the task list.
+     *
+     * @param taskList The task list to read or change.
+     * @return What the command did, for the caller to render.
+     */
+    CommandResult execute(TaskList taskList);
+
+    /**
+     * Returns whether the command ends the session.
+     *
+     * @return True for the "bye" command.
+     */
+    default boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,226 @@
+package nicholas.command;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import nicholas.exception.EmptyCommandException;
+import nicholas.exception.NotTaskException;
+import nicholas.tasks.TaskDates;
+import nicholas.tasks.TaskFilter;
+import nicholas.ui.Parser;
+
+/**
+ * Turns user input into {@link Command}s, shared by the CLI and the GUI.
+ * <p>
+ * Each command keyword is registered with a factory that validates the arguments and parses them once
+ * into the typed fields of the command, such as a task index or a due date. The commands can then be
+ * executed, batched or replayed without going back to the input text.
+ * </p>
+ */
+public class CommandRegistry {
+    private static final Pattern DURATION = Pattern.compile("(?:(\\d+)d)?(?:(\\d+)h)?(?:(\\d+)m)?");
+
+    private final Map<String, CommandFactory> factories;
+
+    /**
+     * Constructs a CommandRegistry with no commands registered.
+     */
+    public CommandRegistry() {
+        this.factories = new HashMap<>();
+    }
+
+    /**
+     * Returns a registry with every built-in command registered.
+     *
+     * @return The registry.
+     */
+    public static CommandRegistry withDefaultCommands() {
+        CommandRegistry registry = new CommandRegistry();
+        registry.register("list", arguments -> arguments.isBlank() ? new ListCommand()
+                : new ListCommand(TaskSelection.parseFilter(arguments)));
+        registry.register("count", arguments -> new CountCommand(arguments.isBlank() ? TaskFilter.ALL
+                : TaskSelection.parseFilter(arguments)));
+        registry.register("bye", arguments -> new ExitCommand());
+        registry.register("mark", arguments -> parseSelection("mark", arguments, MarkCommand::new,
+                BulkCommand.Action.MARK));
+        registry.register("unmark", arguments -> parseSelection("unmark", arguments, UnmarkCommand::new,
+                BulkCommand.Action.UNMARK));
+        registry.register("delete", arguments -> parseSelection("delete", arguments, DeleteCommand::new,
+                BulkCommand.Action.DELETE));
+        registry.register("upgrade", arguments -> parseSelection("upgrade", arguments, UpgradeCommand::new,
+                BulkCommand.Action.UPGRADE));
+        registry.register("downgrade", arguments -> parseSelection("downgrade", arguments, DowngradeCommand::new,
+                BulkCommand.Action.DOWNGRADE));
+        registry.register("find", arguments -> new FindCommand(requireArguments("find", arguments)));
+        registry.register("todo", arguments -> new TodoCommand(requireArguments("todo", arguments).trim()));
+        registry.register("deadline", CommandRegistry::parseDeadline);
+        registry.register("event", CommandRegistry::parseEvent);
+        registry.register("due", CommandRegistry::parseDue);
+        registry.register("overdue", arguments -> new OverdueCommand(LocalDateTime.now()));
+        registry.register("free", CommandRegistry::parseFree);
+        return registry;
+    }
+
+    /**
+     * Registers the factory that builds the command for a keyword, replacing any factory already registered.
+     *
+     * @param keyword The command keyword, in lowercase.
+     * @param factory The factory that parses the arguments into a command.
+     */
+    public void register(String keyword, CommandFactory factory) {
+        factories.put(keyword, factory);
+    }
+
+    /**
+     * Parses a line of user input into a command.
+     *
+     * @param userInput The raw input from the user.
+     * @return The parsed command.
+     * @throws NotTaskException If the command keyword is not recognized.
+     * @throws EmptyCommandException If the command is missing required arguments.
+     * @throws IllegalArgumentException If an argument, such as a task index or a date, is malformed.
+     */
+    public Command parse(String userInput) throws NotTaskException, EmptyCommandException {
+        String[] commandParts = Parser.parseCommand(userInput);
+        CommandFactory factory = factories.get(commandParts[0].toLowerCase());
+        if (factory == null) {
+            throw new NotTaskException("OOPS!!! I'm sorry, but I don't know what that means :-(");
+        }
+        return factory.create(commandParts.length < 2 ? "" : commandParts[1]);
+    }
+
+    private static String requireArguments(String keyword, String arguments) throws EmptyCommandException {
+        if (arguments.trim().isEmpty()) {
+            throw new EmptyCommandException(keyword);
+        }
+        return arguments;
+    }
+
+    private static TaskReference parseReference(String keyword, String arguments) throws EmptyCommandException {
+        return TaskReference.parse(requireArguments(keyword, arguments));
+    }
+
+    /**
+     * Parses the arguments of a command that acts on tasks by number. A single task number or id gives the
+     * single-task command; task number lists, ranges and filters give a {@link BulkCommand}.
+     */
+    private static Command parseSelection(String keyword, String arguments,
+            Function<TaskReference, Command> singleCommand, BulkCommand.Action bulkAction)
+            throws EmptyCommandException {
+        if (arguments.isBlank() || TaskSelection.isSingleTaskNumber(arguments)) {
+            return singleCommand.apply(parseReference(keyword, arguments));
+        }
+        return new BulkCommand(bulkAction, TaskSelection.parse(arguments));
+    }
+
+    private static Command parseDeadline(String arguments) throws EmptyCommandException {
+        int byStart = arguments.indexOf("/by");
+        String description = (byStart < 0 ? arguments : arguments.substring(0, byStart)).trim();
+        if (description.isEmpty()) {
+            throw new EmptyCommandException("deadline");
+        }
+        if (byStart < 0) {
+            throw new IllegalArgumentException("Invalid deadline format. Expected: deadline <description> /by <date>");
+        }
+        return new DeadlineCommand(description, TaskDates.parse(arguments.substring(byStart + 3).trim()));
+    }
+
+    private static Command parseEvent(String arguments) throws EmptyCommandException {
+        int fromStart = arguments.indexOf("/from");
+        String description = (fromStart < 0 ? arguments : arguments.substring(0, fromStart)).trim();
+        if (description.isEmpty()) {
+            throw new EmptyCommandException("event");
+        }
+        int toStart = fromStart < 0 ? -1 : arguments.indexOf("/to", fromStart + 5);
+        if (toStart < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid event format. Expected: event <description> /from <date> /to <date>");
+        }
+        return new EventCommand(description, TaskDates.parse(arguments.substring(fromStart + 5, toStart).trim()),
+                TaskDates.parse(arguments.substring(toStart + 3).trim()));
+    }
+
+    private static Command parseDue(String arguments) throws EmptyCommandException {
+        String period = requireArguments("due", arguments).trim();
+        if (period.startsWith("before ")) {
+            return new DueCommand(null, TaskDates.parse(period.substring(7).trim()));
+        }
+        LocalDateTime[] fromAndTo = parseBetween(period);
+        if (fromAndTo == null) {
+            throw new IllegalArgumentException(
+                    "Invalid due format. Expected: due before <date> or due between <date> and <date>");
+        }
+        return new DueCommand(fromAndTo[0], fromAndTo[1]);
+    }
+
+    private static Command parseFree(String arguments) throws EmptyCommandException {
+        String[] lengthAndPeriod = requireArguments("free", arguments).trim().split("\\s+", 2);
+        LocalDateTime[] fromAndTo = lengthAndPeriod.length < 2 ? null : parseBetween(lengthAndPeriod[1]);
+        if (fromAndTo == null) {
+            throw new IllegalArgumentException(
+                    "Invalid free format. Expected: free <duration> between <date> and <date>");
+        }
+        return new FreeCommand(parseDuration(lengthAndPeriod[0]), fromAndTo[0], fromAndTo[1]);
+    }
+
+    /**
+     * Parses a period of the form {@code between <date> and <date>}, or returns null if it is not one.
+     */
+    private static LocalDateTime[] parseBetween(String period) {
+        int andStart = period.indexOf(" and ");
+        if (!period.startsWith("between ") || andStart < 0) {
+            return null;
+        }
+        return new LocalDateTime[] {TaskDates.parse(period.substring(8, andStart).trim()),
+            TaskDates.parse(period.substring(andStart + 5).trim())};
+    }
+
+    /**
+     * Parses a length of time such as {@code 45m}, {@code 2h} or {@code 1h30m}, with {@code d} for days.
+     */
+    private static Duration parseDuration(String length) {
+        Matcher matcher = DURATION.matcher(length.toLowerCase(Locale.ROOT));
+        if (length.isEmpty() || !matcher.matches()) {
+            throw new IllegalArgumentException(
+                    "Invalid duration: " + length + ". Expected something like 45m, 2h or 1h30m");
+        }
+        Duration duration = Duration.ZERO;
+        try {
+            for (int group = 1; group <= 3; group++) {
+                if (matcher.group(group) != null) {
+                    long amount = Long.parseLong(matcher.group(group));
+                    duration = duration.plus(group == 1 ? Duration.ofDays(amount)
+                            : group == 2 ? Duration.ofHours(amount) : Duration.ofMinutes(amount));
+                }
+            }
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid duration: " + length, e);
+        }
+        if (duration.isZero()) {
+            throw new IllegalArgumentException("Invalid duration: " + length + ". It should be at least 1m");
+        }
+        return duration;
+    }
+
+    /**
+     * Builds a command from the arguments that follow its keyword.
+     */
+    @FunctionalInterface
+    public interface CommandFactory {
+
+        /**
+         * Validates and parses the arguments into a command.
+         *
+         * @param arguments The input after the command keyword, or an empty string if there is none.
+         * @return The command.
+         * @throws EmptyCommandException If required arguments are missing.
+         */
+        Command create(String arguments) throws EmptyCommandException;
+    }
+}
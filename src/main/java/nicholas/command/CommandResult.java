@@ -0,0 +1,138 @@
+package nicholas.command;
+
+import java.util.List;
+
+import nicholas.tasks.Task;
+import nicholas.tasks.TimeSlot;
+
+/**
+ * Represents the outcome of executing a {@link Command}: what kind of thing happened, the tasks it
+ * happened to, and how many tasks are left in the list. The CLI and the GUI each render it in their own words.
+ * Some outcomes carry more: an added event carries the events it conflicts with, and a free-slot search
+ * carries the slots it found.
+ */
+public class CommandResult {
+    /**
+     * Represents the kinds of outcome a command can have. A {@code COUNTED} result has no tasks, and its
+     * task count is the number of tasks that matched rather than the size of the list.
+     */
+    public enum Kind {
+        ADDED, MARKED, UNMARKED, DELETED, UPGRADED, DOWNGRADED, LISTED, FILTERED, COUNTED, SCHEDULED, FREE_SLOTS, FOUND,
+        EXITED
+    }
+
+    private final Kind kind;
+    private final List<Task> tasks;
+    private final int taskCount;
+    private final String query;
+    private final List<Task> conflicts;
+    private final List<TimeSlot> freeSlots;
+
+    /**
+     * Constructs a CommandResult.
+     *
+     * @param kind The kind of outcome.
+     * @param tasks The tasks the command added, changed, removed or selected.
+     * @param taskCount The number of tasks in the list after the command, or the number counted.
+     * @param query The search text or filter the command used, or null if it did not search.
+     */
+    public CommandResult(Kind kind, List<Task> tasks, int taskCount, String query) {
+        this(kind, tasks, taskCount, query, List.of(), List.of());
+    }
+
+    private CommandResult(Kind kind, List<Task> tasks, int taskCount, String query, List<Task> conflicts,
+            List<TimeSlot> freeSlots) {
+        this.kind = kind;
+        this.tasks = tasks;
+        this.taskCount = taskCount;
+        this.query = query;
+        this.conflicts = conflicts;
+        this.freeSlots = freeSlots;
+    }
+
+    /**
+     * Returns the outcome of a command that acted on a single task.
+     *
+     * @param kind The kind of outcome.
+     * @param task The task the command acted on.
+     * @param taskCount The number of tasks in the list after the command.
+     * @return The result.
+     */
+    public static CommandResult of(Kind kind, Task task, int taskCount) {
+        return new CommandResult(kind, List.of(task), taskCount, null);
+    }
+
+    /**
+     * Returns the outcome of a search for free time.
+     *
+     * @param freeSlots The free slots found, earliest first.
+     * @param taskCount The number of tasks in the list.
+     * @param query The length and period searched, as the user would read it.
+     * @return The result.
+     */
+    public static CommandResult ofFreeSlots(List<TimeSlot> freeSlots, int taskCount, String query) {
+        return new CommandResult(Kind.FREE_SLOTS, List.of(), taskCount, query, List.of(), freeSlots);
+    }
+
+    /**
+     * Returns a copy of this result that also carries the events the added task conflicts with.
+     *
+     * @param conflicts The conflicting events.
+     * @return The new result.
+     */
+    public CommandResult withConflicts(List<? extends Task> conflicts) {
+        return new CommandResult(kind, tasks, taskCount, query, List.copyOf(conflicts), freeSlots);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the task a single-task command acted on.
+     *
+     * @return The first task of the result.
+     */
+    public Task getTask() {
+        return tasks.get(0);
+    }
+
+    /**
+     * Returns whether the command marked, unmarked, deleted, upgraded or downgraded some number of tasks
+     * other than one, which only a {@link BulkCommand} does. Such results are shown as a count of tasks.
+     *
+     * @return True if the result should be shown as a bulk change.
+     */
+    public boolean isBulkChange() {
+        switch (kind) {
+        case MARKED:
+        case UNMARKED:
+        case DELETED:
+        case UPGRADED:
+        case DOWNGRADED:
+            return tasks.size() != 1;
+        default:
+            return false;
+        }
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public List<Task> getConflicts() {
+        return conflicts;
+    }
+
+    public List<TimeSlot> getFreeSlots() {
+        return freeSlots;
+    }
+}
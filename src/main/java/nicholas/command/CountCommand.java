@@ -0,0 +1,32 @@
+package nicholas.command;
+
+import java.util.List;
+
+import nicholas.tasks.TaskFilter;
+import nicholas.tasks.TaskList;
+
+/**
+ * Counts the tasks matching a filter on status, priority and task type, without listing them.
+ */
+public class CountCommand implements Command {
+    private final TaskFilter filter;
+
+    /**
+     * Constructs a CountCommand.
+     *
+     * @param filter The filter to match, or {@link TaskFilter#ALL} to count every task.
+     */
+    public CountCommand(TaskFilter filter) {
+        this.filter = filter;
+    }
+
+    public TaskFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        return new CommandResult(CommandResult.Kind.COUNTED, List.of(), taskList.countTasks(filter),
+                filter.toString());
+    }
+}
@@ -0,0 +1,33 @@
+package nicholas.command;
+
+import java.time.LocalDateTime;
+
+import nicholas.tasks.Deadline;
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskList;
+
+/**
+ * Adds a deadline task.
+ */
+public class DeadlineCommand implements Command {
+    private final String description;
+    private final LocalDateTime by;
+
+    /**
+     * Constructs a DeadlineCommand.
+     *
+     * @param description The description of the deadline.
+     * @param by The due date.
+     */
+    public DeadlineCommand(String description, LocalDateTime by) {
+        this.description = description;
+        this.by = by;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        Task task = new Deadline(description, by);
+        taskList.addTask(task);
+        return CommandResult.of(CommandResult.Kind.ADDED, task, taskList.size());
+    }
+}
@@ -0,0 +1,50 @@
+package nicholas.command;
+
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskList;
+
+/**
+ * Removes a task, named by its position in the list or by its id.
+ */
+public class DeleteCommand implements Command {
+    private final TaskReference reference;
+
+    /**
+     * Constructs a DeleteCommand.
+     *
+     * @param index The zero-based position of the task in the list.
+     */
+    public DeleteCommand(int index) {
+        this(TaskReference.ofPosition(index));
+    }
+
+    /**
+     * Constructs a DeleteCommand for the task at a position or with an id.
+     *
+     * @param reference The position or id of the task.
+     */
+    public DeleteCommand(TaskReference reference) {
+        this.reference = reference;
+    }
+
+    /**
+     * Returns the position of the task the command acts on.
+     *
+     * @return The zero-based position, or -1 if the task is named by its id.
+     */
+    public int getIndex() {
+        return reference.getIndex();
+    }
+
+    public TaskReference getReference() {
+        return reference;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        int index = reference.resolve(taskList);
+        Task task = taskList.getTasks().get(index);
+        taskList.deleteTask(index);
+        return CommandResult.of(CommandResult.Kind.DELETED, task, taskList.size());
+    }
+}
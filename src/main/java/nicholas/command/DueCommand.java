@@ -0,0 +1,43 @@
+package nicholas.command;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskDates;
+import nicholas.tasks.TaskList;
+
+/**
+ * Lists the deadlines due and the events starting before a time, or between two times, in time order.
+ */
+public class DueCommand implements Command {
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    /**
+     * Constructs a DueCommand.
+     *
+     * @param from The start of the period, or null to include everything before its end.
+     * @param to The end of the period, which is not part of it.
+     */
+    public DueCommand(LocalDateTime from, LocalDateTime to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        List<Task> tasks = taskList.findTasksDueBetween(from, to);
+        String period = from == null ? "due before " + TaskDates.format(to)
+                : "due between " + TaskDates.format(from) + " and " + TaskDates.format(to);
+        return new CommandResult(CommandResult.Kind.SCHEDULED, tasks, taskList.size(), period);
+    }
+}
@@ -0,0 +1,36 @@
+package nicholas.command;
+
+import java.time.LocalDateTime;
+
+import nicholas.tasks.Event;
+import nicholas.tasks.TaskList;
+
+/**
+ * Adds an event task and reports the events already in the list that overlap it.
+ */
+public class EventCommand implements Command {
+    private final String description;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    /**
+     * Constructs an EventCommand.
+     *
+     * @param description The description of the event.
+     * @param from The start time.
+     * @param to The end time.
+     */
+    public EventCommand(String description, LocalDateTime from, LocalDateTime to) {
+        this.description = description;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        Event event = new Event(description, from, to);
+        taskList.addTask(event);
+        return CommandResult.of(CommandResult.Kind.ADDED, event, taskList.size())
+                .withConflicts(taskList.findConflictingEvents(event));
+    }
+}
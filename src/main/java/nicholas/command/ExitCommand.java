@@ -0,0 +1,20 @@
+package nicholas.command;
+
+import java.util.List;
+
+import nicholas.tasks.TaskList;
+
+/**
+ * Ends the session.
+ */
+public class ExitCommand implements Command {
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        return new CommandResult(CommandResult.Kind.EXITED, List.of(), taskList.size(), null);
+    }
+
+    @Override
+    public boolean isExit() {
+        return true;
+    }
+}
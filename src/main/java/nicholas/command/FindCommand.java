@@ -0,0 +1,36 @@
+package nicholas.command;
+
+import java.util.List;
+
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskList;
+
+/**
+ * Finds the tasks whose description matches a keyword query, as described in {@link TaskList#findTasks(String)}.
+ * A query in double quotes is instead looked for as exact text anywhere in the descriptions.
+ */
+public class FindCommand implements Command {
+    private final String keyword;
+
+    /**
+     * Constructs a FindCommand.
+     *
+     * @param keyword The text to look for in task descriptions.
+     */
+    public FindCommand(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        String query = keyword.trim();
+        boolean isQuoted = query.length() >= 2 && query.startsWith("\"") && query.endsWith("\"");
+        List<Task> matches = isQuoted ? taskList.findTasksContaining(query.substring(1, query.length() - 1))
+                : taskList.findTasks(query);
+        return new CommandResult(CommandResult.Kind.FOUND, matches, taskList.size(), keyword);
+    }
+}
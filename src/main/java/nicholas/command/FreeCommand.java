@@ -0,0 +1,45 @@
+package nicholas.command;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import nicholas.tasks.TaskDates;
+import nicholas.tasks.TaskList;
+
+/**
+ * Finds the gaps between events in a period that are long enough to fit something of a given length.
+ */
+public class FreeCommand implements Command {
+    private final Duration length;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    /**
+     * Constructs a FreeCommand.
+     *
+     * @param length The shortest gap to look for.
+     * @param from The start of the period.
+     * @param to The end of the period.
+     */
+    public FreeCommand(Duration length, LocalDateTime from, LocalDateTime to) {
+        this.length = length;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        String query = formatLength(length) + " between " + TaskDates.format(from) + " and " + TaskDates.format(to);
+        return CommandResult.ofFreeSlots(taskList.findFreeSlots(length, from, to), taskList.size(), query);
+    }
+
+    private static String formatLength(Duration length) {
+        long hours = length.toHours();
+        int minutes = length.toMinutesPart();
+        return hours == 0 ? minutes + "m" : minutes == 0 ? hours + "h" : hours + "h" + minutes + "m";
+    }
+}
@@ -0,0 +1,49 @@
+package nicholas.command;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskFilter;
+import nicholas.tasks.TaskList;
+
+/**
+ * Lists every task, or only the tasks matching a filter on status, priority and task type.
+ */
+public class ListCommand implements Command {
+    private final TaskFilter filter;
+
+    /**
+     * Constructs a ListCommand that lists every task.
+     */
+    public ListCommand() {
+        this(null);
+    }
+
+    /**
+     * Constructs a ListCommand that lists the tasks matching a filter.
+     *
+     * @param filter The filter to match, or null to list every task.
+     */
+    public ListCommand(TaskFilter filter) {
+        this.filter = filter;
+    }
+
+    public TaskFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        if (filter == null) {
+            return new CommandResult(CommandResult.Kind.LISTED, taskList.getTasks(), taskList.size(), null);
+        }
+        BitSet positions = taskList.selectTasks(filter);
+        List<Task> matches = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            matches.add(taskList.getTasks().get(i));
+        }
+        return new CommandResult(CommandResult.Kind.FILTERED, matches, taskList.size(), filter.toString());
+    }
+}
@@ -0,0 +1,31 @@
+package nicholas.command;
+
+import java.time.LocalDateTime;
+
+import nicholas.tasks.TaskList;
+
+/**
+ * Lists the deadlines that are not done and are already past, earliest first.
+ */
+public class OverdueCommand implements Command {
+    private final LocalDateTime now;
+
+    /**
+     * Constructs an OverdueCommand.
+     *
+     * @param now The time deadlines are compared against.
+     */
+    public OverdueCommand(LocalDateTime now) {
+        this.now = now;
+    }
+
+    public LocalDateTime getNow() {
+        return now;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        return new CommandResult(CommandResult.Kind.SCHEDULED, taskList.findOverdueTasks(now), taskList.size(),
+                "overdue");
+    }
+}
@@ -0,0 +1,121 @@
+package nicholas.command;
+
+import nicholas.tasks.TaskList;
+
+/**
+ * Names the task a command acts on, either by its position in the list or by its id.
+ * <p>
+ * A position is what the user sees in the list and changes when tasks before it are deleted. An id, written
+ * {@code #12}, stays with the task, so it names the same task however the list changes around it.
+ * </p>
+ */
+public class TaskReference {
+    private static final char ID_MARKER = '#';
+
+    private final boolean isId;
+    private final int index;
+    private final long id;
+
+    private TaskReference(boolean isId, int index, long id) {
+        this.isId = isId;
+        this.index = index;
+        this.id = id;
+    }
+
+    /**
+     * Returns a reference to the task at a position in the list.
+     *
+     * @param index The zero-based position of the task.
+     * @return The reference.
+     */
+    public static TaskReference ofPosition(int index) {
+        return new TaskReference(false, index, 0);
+    }
+
+    /**
+     * Returns a reference to the task with an id.
+     *
+     * @param id The id of the task.
+     * @return The reference.
+     */
+    public static TaskReference ofId(long id) {
+        return new TaskReference(true, -1, id);
+    }
+
+    /**
+     * Parses a task number as the user types it, such as {@code 3}, or a task id, such as {@code #12}.
+     *
+     * @param text The task number or id.
+     * @return The reference.
+     * @throws IllegalArgumentException If the text is neither.
+     */
+    public static TaskReference parse(String text) {
+        String reference = text.trim();
+        try {
+            if (!reference.isEmpty() && reference.charAt(0) == ID_MARKER) {
+                long id = Long.parseLong(reference.substring(1));
+                if (id <= 0 || !Character.isDigit(reference.charAt(1))) {
+                    throw new IllegalArgumentException("Invalid task id: " + reference);
+                }
+                return ofId(id);
+            }
+            return ofPosition(Integer.parseInt(reference) - 1);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid task number: " + reference, e);
+        }
+    }
+
+    /**
+     * Returns whether the task is named by its id rather than by its position.
+     *
+     * @return True if the reference is an id.
+     */
+    public boolean isId() {
+        return isId;
+    }
+
+    /**
+     * Returns the position the reference was made with.
+     *
+     * @return The zero-based position of the task, or -1 if the task is named by its id.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the id the reference was made with.
+     *
+     * @return The id of the task, or 0 if the task is named by its position.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the current position of the task in a list. An id is looked up by a binary search over the ids.
+     *
+     * @param taskList The task list.
+     * @return The zero-based position of the task.
+     * @throws IllegalArgumentException If the position is outside the list or no task has the id.
+     */
+    public int resolve(TaskList taskList) {
+        if (!isId) {
+            TaskSelection.checkIndex(index, taskList.size());
+            return index;
+        }
+        int position = taskList.indexOfTaskId(id);
+        if (position < 0) {
+            throw new IllegalArgumentException("No task with id " + this + ".");
+        }
+        return position;
+    }
+
+    /**
+     * Returns the reference as the user would type it, such as {@code 3} or {@code #12}.
+     */
+    @Override
+    public String toString() {
+        return isId ? ID_MARKER + Long.toString(id) : Integer.toString(index + 1);
+    }
+}
@@ -0,0 +1,187 @@
+package nicholas.command;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+import nicholas.tasks.Priority;
+import nicholas.tasks.TaskFilter;
+import nicholas.tasks.TaskList;
+
+/**
+ * Selects the tasks a bulk command acts on, either by task number or by filter.
+ * <p>
+ * Task numbers are separated by commas and may include inclusive ranges, such as {@code 3,7,9-120}. A task
+ * may also be named by its id, such as {@code 3,#41}, which stays the same when tasks before it are deleted.
+ * Filters are {@code key:value} pairs separated by spaces, all of which a task must match, such as
+ * {@code done:false priority:LOW type:T}. The keys are {@code done} ({@code true} or {@code false}),
+ * {@code priority} ({@code LOW}, {@code MEDIUM} or {@code HIGH}) and {@code type} ({@code T}, {@code D} or
+ * {@code E}, or {@code todo}, {@code deadline} or {@code event}). Filters are answered from the task list's
+ * bitmap indexes rather than by reading every task.
+ * </p>
+ */
+public class TaskSelection {
+    private final List<int[]> ranges;
+    private final List<TaskReference> ids;
+    private final TaskFilter filter;
+
+    private TaskSelection(List<int[]> ranges, List<TaskReference> ids, TaskFilter filter) {
+        this.ranges = ranges;
+        this.ids = ids;
+        this.filter = filter;
+    }
+
+    /**
+     * Parses a selection from the arguments of a command.
+     *
+     * @param arguments The task numbers or the filters.
+     * @return The selection.
+     * @throws IllegalArgumentException If a task number, range or filter is malformed.
+     */
+    public static TaskSelection parse(String arguments) {
+        String selection = arguments.trim();
+        if (selection.indexOf(':') >= 0) {
+            return new TaskSelection(null, null, parseFilter(selection));
+        }
+        List<int[]> ranges = new ArrayList<>();
+        List<TaskReference> ids = new ArrayList<>();
+        parseRanges(selection, ranges, ids);
+        return new TaskSelection(ranges, ids, null);
+    }
+
+    /**
+     * Returns whether the arguments name exactly one task by its number or id, the form every command accepts.
+     *
+     * @param arguments The arguments of a command.
+     * @return True if the arguments are a single task number, such as {@code 3}, or id, such as {@code #41}.
+     */
+    public static boolean isSingleTaskNumber(String arguments) {
+        String selection = arguments.trim();
+        int start = selection.startsWith("#") ? 1 : 0;
+        if (selection.length() == start || selection.length() - start > (start == 1 ? 18 : 9)) {
+            return false;
+        }
+        for (int i = start; i < selection.length(); i++) {
+            if (!Character.isDigit(selection.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the positions of the selected tasks.
+     *
+     * @param taskList The task list to select from.
+     * @return The zero-based positions of the selected tasks.
+     * @throws IllegalArgumentException If a task number is outside the list or no task has a selected id.
+     */
+    public BitSet select(TaskList taskList) {
+        if (filter != null) {
+            return taskList.selectTasks(filter);
+        }
+        BitSet positions = new BitSet(taskList.size());
+        for (int[] range : ranges) {
+            checkIndex(range[0] - 1, taskList.size());
+            checkIndex(range[1] - 1, taskList.size());
+            positions.set(range[0] - 1, range[1]);
+        }
+        for (TaskReference id : ids) {
+            positions.set(id.resolve(taskList));
+        }
+        return positions;
+    }
+
+    /**
+     * Checks that a zero-based task index is inside a list of the given size.
+     *
+     * @param index The zero-based task index.
+     * @param taskCount The number of tasks in the list.
+     * @throws IllegalArgumentException If the index is outside the list.
+     */
+    static void checkIndex(int index, int taskCount) {
+        if (index < 0 || index >= taskCount) {
+            throw new IllegalArgumentException("Invalid task number: " + (index + 1) + ". You have "
+                    + taskCount + " tasks in the list.");
+        }
+    }
+
+    private static void parseRanges(String selection, List<int[]> ranges, List<TaskReference> ids) {
+        for (String part : selection.split(",")) {
+            String range = part.trim();
+            if (range.startsWith("#")) {
+                ids.add(TaskReference.parse(range));
+                continue;
+            }
+            int dash = range.indexOf('-', 1);
+            try {
+                int from = Integer.parseInt(dash < 0 ? range : range.substring(0, dash).trim());
+                int to = dash < 0 ? from : Integer.parseInt(range.substring(dash + 1).trim());
+                if (to < from) {
+                    throw new IllegalArgumentException("Invalid task range: " + range);
+                }
+                ranges.add(new int[] {from, to});
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid task number: " + range, e);
+            }
+        }
+    }
+
+    /**
+     * Parses filters separated by spaces, such as {@code done:false priority:HIGH type:D}.
+     *
+     * @param filters The filters.
+     * @return The filter matching tasks that match every one of them.
+     * @throws IllegalArgumentException If a filter is malformed or two filters conflict.
+     */
+    static TaskFilter parseFilter(String filters) {
+        TaskFilter filter = TaskFilter.ALL;
+        for (String term : filters.trim().split("\\s+")) {
+            int colon = term.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Invalid filter: " + term + ". Expected: key:value");
+            }
+            filter = addFilter(filter, term.substring(0, colon).toLowerCase(Locale.ROOT), term.substring(colon + 1));
+        }
+        return filter;
+    }
+
+    private static TaskFilter addFilter(TaskFilter filter, String key, String value) {
+        switch (key) {
+        case "done":
+            if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException("Invalid filter value for done: " + value);
+            }
+            return filter.withDone(Boolean.parseBoolean(value));
+        case "priority":
+            Priority priority;
+            try {
+                priority = Priority.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid filter value for priority: " + value, e);
+            }
+            return filter.withPriority(priority);
+        case "type":
+            return filter.withTaskType(toTaskType(value));
+        default:
+            throw new IllegalArgumentException("Unknown filter: " + key + ". Use done, priority or type");
+        }
+    }
+
+    private static String toTaskType(String value) {
+        switch (value.toLowerCase(Locale.ROOT)) {
+        case "t":
+        case "todo":
+            return "T";
+        case "d":
+        case "deadline":
+            return "D";
+        case "e":
+        case "event":
+            return "E";
+        default:
+            throw new IllegalArgumentException("Invalid filter value for type: " + value);
+        }
+    }
+}
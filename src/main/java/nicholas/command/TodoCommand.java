@@ -0,0 +1,28 @@
+package nicholas.command;
+
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskList;
+import nicholas.tasks.Todo;
+
+/**
+ * Adds a todo task.
+ */
+public class TodoCommand implements Command {
+    private final String description;
+
+    /**
+     * Constructs a TodoCommand.
+     *
+     * @param description The description of the todo.
+     */
+    public TodoCommand(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        Task task = new Todo(description);
+        taskList.addTask(task);
+        return CommandResult.of(CommandResult.Kind.ADDED, task, taskList.size());
+    }
+}
@@ -0,0 +1,48 @@
+package nicholas.command;
+
+import nicholas.tasks.TaskList;
+
+/**
+ * Marks a task as not done, named by its position in the list or by its id.
+ */
+public class UnmarkCommand implements Command {
+    private final TaskReference reference;
+
+    /**
+     * Constructs a UnmarkCommand.
+     *
+     * @param index The zero-based position of the task in the list.
+     */
+    public UnmarkCommand(int index) {
+        this(TaskReference.ofPosition(index));
+    }
+
+    /**
+     * Constructs a UnmarkCommand for the task at a position or with an id.
+     *
+     * @param reference The position or id of the task.
+     */
+    public UnmarkCommand(TaskReference reference) {
+        this.reference = reference;
+    }
+
+    /**
+     * Returns the position of the task the command acts on.
+     *
+     * @return The zero-based position, or -1 if the task is named by its id.
+     */
+    public int getIndex() {
+        return reference.getIndex();
+    }
+
+    public TaskReference getReference() {
+        return reference;
+    }
+
+    @Override
+    public CommandResult execute(TaskList taskList) {
+        int index = reference.resolve(taskList);
+        taskList.markTaskAsUndone(index);
+        return CommandResult.of(CommandResult.Kind.UNMARKED, taskList.getTasks().get(index), taskList.size());
+    }
+}
@@ -0,0 +1,67 @@
+package nicholas.gui;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs GUI commands one at a time on a background thread, in the order they were submitted, so loading and
+ * saving large task files never blocks the thread that submits them.
+ * <p>
+ * Each command returns the work that shows its result, which is handed to the result executor, normally
+ * {@code Platform::runLater}, in the same order the commands ran.
+ * </p>
+ */
+public class CommandRunner {
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "command-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Executor resultExecutor;
+
+    /**
+     * Constructs a CommandRunner that shows results through the given executor.
+     *
+     * @param resultExecutor The executor that runs the work showing each result, such as the JavaFX thread.
+     */
+    public CommandRunner(Executor resultExecutor) {
+        this.resultExecutor = resultExecutor;
+    }
+
+    /**
+     * Queues a command to run after every command submitted before it.
+     *
+     * @param command The command, which returns the work that shows its result.
+     */
+    public void submit(Supplier<Runnable> command) {
+        commandExecutor.execute(() -> resultExecutor.execute(command.get()));
+    }
+
+    /**
+     * Queues work that has no result to show, to run after every command submitted before it.
+     *
+     * @param work The work to run.
+     */
+    public void execute(Runnable work) {
+        commandExecutor.execute(work);
+    }
+
+    /**
+     * Stops taking commands and waits for the queued ones to finish.
+     *
+     * @param timeoutSeconds The longest time to wait.
+     * @return True if every queued command finished in time.
+     */
+    public boolean shutdown(long timeoutSeconds) {
+        commandExecutor.shutdown();
+        try {
+            return commandExecutor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
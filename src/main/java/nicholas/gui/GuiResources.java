@@ -0,0 +1,47 @@
+package nicholas.gui;
+
+import javafx.scene.image.Image;
+
+/**
+ * Holds the images shared by every window and dialog box, decoding each one only once.
+ * <p>
+ * {@link #warmUp()} decodes them ahead of time, off the JavaFX application thread, so the first
+ * window does not wait for them.
+ * </p>
+ */
+public class GuiResources {
+    private static Image userImage;
+    private static Image nicholasImage;
+
+    /**
+     * Returns the picture shown next to the user's messages.
+     *
+     * @return The user's display picture.
+     */
+    public static synchronized Image getUserImage() {
+        if (userImage == null) {
+            userImage = new Image(GuiResources.class.getResourceAsStream("/images/User.JPG"));
+        }
+        return userImage;
+    }
+
+    /**
+     * Returns the picture shown next to Nicholas's messages.
+     *
+     * @return Nicholas's display picture.
+     */
+    public static synchronized Image getNicholasImage() {
+        if (nicholasImage == null) {
+            nicholasImage = new Image(GuiResources.class.getResourceAsStream("/images/Nicholas.JPG"));
+        }
+        return nicholasImage;
+    }
+
+    /**
+     * Decodes every shared image now instead of when it is first shown.
+     */
+    public static void warmUp() {
+        getUserImage();
+        getNicholasImage();
+    }
+}
@@ -0,0 +1,43 @@
+package nicholas.gui;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Logs how long GUI startup and message handling take, when run with {@code -Dnicholas.gui.timing=true}.
+ */
+public class GuiTiming {
+    private static final boolean IS_ENABLED = Boolean.getBoolean("nicholas.gui.timing");
+
+    /**
+     * Returns the current time, to be passed to {@link #log(String, long)} later.
+     *
+     * @return The current value of the nanosecond timer.
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Logs the time elapsed since the given start.
+     *
+     * @param label What was timed.
+     * @param startNanos The value returned by {@link #start()} when timing began.
+     */
+    public static void log(String label, long startNanos) {
+        if (IS_ENABLED) {
+            System.err.printf("[timing] %s: %.2f ms%n", label, (System.nanoTime() - startNanos) / 1e6);
+        }
+    }
+
+    /**
+     * Logs the time elapsed since the JVM started.
+     *
+     * @param label What was reached.
+     */
+    public static void logSinceJvmStart(String label) {
+        if (IS_ENABLED) {
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            System.err.printf("[timing] %s: %d ms after JVM start%n", label, uptime);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package nicholas.gui;
 import java.io.IOException;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
@@ -11,9 +12,31 @@ import nicholas.ui.Nicholas;
 
 /**
  * A GUI for Duke using FXML.
+ * <p>
+ * Shared images are decoded in {@link #init()}, before the window is built, unless run with
+ * {@code -Dnicholas.gui.warmUp=false}. With {@code -Dnicholas.gui.trainingRun=true} the app sends one
+ * command after the first frame and exits, which is how {@code ./gradlew cdsArchive} records the classes
+ * a typical startup loads.
+ * </p>
  */
 public class Main extends Application {
+    private static final boolean IS_WARM_UP = !"false".equals(System.getProperty("nicholas.gui.warmUp"));
+    private static final boolean IS_TRAINING_RUN = Boolean.getBoolean("nicholas.gui.trainingRun");
+
     private Nicholas nicholas = new Nicholas();
+    private MainWindow mainWindow;
+
+    /**
+     * Decodes the shared images on the launcher thread while the JavaFX toolkit starts up.
+     */
+    @Override
+    public void init() {
+        if (IS_WARM_UP) {
+            long start = GuiTiming.start();
+            GuiResources.warmUp();
+            GuiTiming.log("warm up", start);
+        }
+    }
 
     /**
      * Starts the JavaFX application by loading the FXML layout and setting up the scene.
@@ -27,11 +50,33 @@ public class Main extends Application {
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
             stage.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setNicholas(nicholas); // Inject the Nicholas instance
+            mainWindow = fxmlLoader.<MainWindow>getController();
+            mainWindow.setNicholas(nicholas); // Inject the Nicholas instance
             stage.setTitle("Nicholas");
+            scene.addPostLayoutPulseListener(new Runnable() {
+                @Override
+                public void run() {
+                    scene.removePostLayoutPulseListener(this);
+                    GuiTiming.logSinceJvmStart("first paint");
+                    if (IS_TRAINING_RUN) {
+                        mainWindow.submit("list");
+                        Platform.exit();
+                    }
+                }
+            });
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Finishes any commands still running and saves the session's tasks when the application exits.
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+    }
 }
@@ -1,69 +1,239 @@
 package nicholas.gui;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Button;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleButton;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
+import nicholas.tasks.Task;
 import nicholas.ui.Nicholas;
 
 
 /**
  * Controller for the main GUI.
+ * <p>
+ * Commands run on the background thread of a {@link CommandRunner}, so loading and saving large task files
+ * never freezes the window. Each command's reply shows a pending indicator until the result is posted back
+ * to the JavaFX thread. The background thread takes commands in the order they were entered.
+ * </p>
+ * <p>
+ * The transcript is a list view, which only lays out the messages that are visible. At most
+ * {@code nicholas.gui.historyLimit} messages (default 200) are kept in it; older ones are moved to a
+ * {@link TranscriptArchive} and brought back a page at a time with the "Show earlier messages" button.
+ * </p>
+ * <p>
+ * The "Tasks" button swaps the transcript for a live task pane, which the {@code list} command also opens
+ * once it has run. The pane is a list view over a {@link TaskListModel}, so it only draws the visible rows,
+ * and each command's changes reach it together with the command's reply.
+ * </p>
  */
 public class MainWindow extends AnchorPane {
+    private static final String PENDING_TEXT = "...";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final int DEFAULT_HISTORY_LIMIT = 200;
+    private static final int EARLIER_PAGE_SIZE = 50;
+    private static final double TASK_ROW_HEIGHT = 24.0;
+
+    @FXML
+    private ListView<Message> transcript;
+    @FXML
+    private Button earlierButton;
     @FXML
-    private ScrollPane scrollPane;
+    private ToggleButton tasksButton;
     @FXML
-    private VBox dialogContainer;
+    private ListView<Task> taskView;
     @FXML
     private TextField userInput;
 
     private Nicholas nicholas;
+    private final CommandRunner commandRunner = new CommandRunner(Platform::runLater);
+    private final ObservableList<Message> messages = FXCollections.observableArrayList();
+    private final int historyLimit = Math.max(1, Integer.getInteger("nicholas.gui.historyLimit",
+            DEFAULT_HISTORY_LIMIT));
+    private final TaskListModel taskListModel = new TaskListModel();
+    private TranscriptArchive archive;
 
-    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/User.JPG"));
-    private Image nicholasImage = new Image(this.getClass().getResourceAsStream("/images/Nicholas.JPG"));
+    private Image userImage = GuiResources.getUserImage();
+    private Image nicholasImage = GuiResources.getNicholasImage();
 
     /**
-     * Initializes the main window by setting up bindings and displaying the initial message.
+     * Initializes the main window by setting up the transcript and displaying the initial message.
      * <p>
-     * This method binds the vertical scroll position of the {@code ScrollPane} to the height
-     * of the {@code dialogContainer}, ensuring that new messages appear at the bottom.
+     * The transcript list view reuses a {@link MessageCell} for each visible row.
      * It also displays an initial greeting message from Nicholas.
      * </p>
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-        dialogContainer.getChildren().addAll(
-                DialogBox.getNicholasDialog("Hello! What can I do for you?", nicholasImage)
-        );
+        transcript.setItems(messages);
+        transcript.setCellFactory(listView -> new MessageCell(userImage, nicholasImage));
+        taskView.setItems(taskListModel.getTasks());
+        taskView.setCellFactory(listView -> new TaskCell());
+        // Equal row heights let the list view find the visible rows without measuring every task.
+        taskView.setFixedCellSize(TASK_ROW_HEIGHT);
+        showTasks(false);
+        try {
+            archive = new TranscriptArchive();
+        } catch (IOException e) {
+            // Without an archive the transcript simply forgets messages beyond the history limit.
+            e.printStackTrace();
+        }
+        addMessages(new Message(false, "Hello! What can I do for you?"));
     }
 
-    /** Injects the Nicholas instance */
+    /**
+     * Injects the Nicholas instance and starts loading its tasks in the background,
+     * so they are usually ready by the time the first command is entered.
+     */
     public void setNicholas(Nicholas n) {
         nicholas = n;
+        commandRunner.submit(() -> {
+            long start = GuiTiming.start();
+            nicholas.setTaskListListener(taskListModel);
+            try {
+                nicholas.openSession();
+            } catch (FileNotFoundException e) {
+                // The first command opens the session again and reports the error.
+            }
+            GuiTiming.log("load tasks", start);
+            return taskListModel.takeUpdate();
+        });
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Adds the user's message and a pending reply to the transcript, then runs the command in the background
+     * and fills in the reply when it is done. Clears the user input straight away, so the next command can be
+     * typed while this one runs; it is run after this one.
      */
     @FXML
-    private void handleUserInput() throws FileNotFoundException {
+    private void handleUserInput() {
+        long start = GuiTiming.start();
+        String input = userInput.getText();
+        Message response = new Message(false, PENDING_TEXT);
+        addMessages(new Message(true, input), response);
+        userInput.clear();
+        boolean isFullList = input.trim().equalsIgnoreCase("list");
+        commandRunner.submit(() -> {
+            long commandStart = GuiTiming.start();
+            String responseText = getResponse(input);
+            Runnable taskUpdate = taskListModel.takeUpdate();
+            GuiTiming.log("run command", commandStart);
+            return () -> {
+                taskUpdate.run();
+                response.setText(responseText);
+                if (isFullList) {
+                    showTasks(true);
+                }
+                GuiTiming.log("message round trip", start);
+            };
+        });
+        GuiTiming.log("add message", start);
+    }
+
+    /**
+     * Sends a command as if the user had typed it, for warming up the GUI in a training run.
+     *
+     * @param input The command to send.
+     */
+    public void submit(String input) {
+        userInput.setText(input);
+        handleUserInput();
+    }
+
+    private String getResponse(String input) {
         try {
-            String input = userInput.getText();
-            String response = nicholas.getGuiResponse(input);
-            dialogContainer.getChildren().addAll(
-                    DialogBox.getUserDialog(input, userImage),
-                    DialogBox.getNicholasDialog(response, nicholasImage)
-            );
-            userInput.clear();
+            return nicholas.getGuiResponse(input);
         } catch (FileNotFoundException e) {
-            throw new FileNotFoundException("Error: File not found.");
+            return "Error: File not found.";
+        } catch (IOException e) {
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    private void addMessages(Message... newMessages) {
+        messages.addAll(newMessages);
+        if (messages.size() > historyLimit) {
+            List<Message> oldest = messages.subList(0, messages.size() - historyLimit);
+            archive(new ArrayList<>(oldest));
+            oldest.clear();
+        }
+        transcript.scrollTo(messages.size() - 1);
+    }
+
+    private void archive(List<Message> oldest) {
+        if (archive == null) {
+            return;
+        }
+        try {
+            archive.push(oldest);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        earlierButton.setVisible(!tasksButton.isSelected() && archive.size() > 0);
+    }
+
+    /**
+     * Switches between the transcript and the task pane when the "Tasks" button is pressed.
+     */
+    @FXML
+    private void handleToggleTasks() {
+        showTasks(tasksButton.isSelected());
+    }
+
+    private void showTasks(boolean isShown) {
+        tasksButton.setSelected(isShown);
+        taskView.setVisible(isShown);
+        transcript.setVisible(!isShown);
+        earlierButton.setVisible(!isShown && archive != null && archive.size() > 0);
+    }
+
+    /**
+     * Brings the most recently archived page of messages back to the top of the transcript.
+     */
+    @FXML
+    private void handleShowEarlier() {
+        if (archive == null) {
+            return;
+        }
+        try {
+            List<Message> earlier = archive.pop(EARLIER_PAGE_SIZE);
+            messages.addAll(0, earlier);
+            transcript.scrollTo(earlier.size());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        earlierButton.setVisible(!tasksButton.isSelected() && archive.size() > 0);
+    }
+
+    /**
+     * Waits for the commands that are still queued to finish, then saves the session's tasks
+     * and deletes the transcript archive.
+     */
+    public void shutdown() {
+        commandRunner.execute(() -> {
+            try {
+                nicholas.closeSession();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        commandRunner.shutdown(SHUTDOWN_TIMEOUT_SECONDS);
+        try {
+            if (archive != null) {
+                archive.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
         }
     }
 }
@@ -0,0 +1,40 @@
+package nicholas.gui;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
+/**
+ * Represents one message in the conversation transcript.
+ * The text is observable, so a pending reply can be filled in after its cell is already on screen.
+ */
+public class Message {
+    private final boolean isFromUser;
+    private final StringProperty text;
+
+    /**
+     * Constructs a message.
+     *
+     * @param isFromUser True if the user sent the message, false if Nicholas did.
+     * @param text The text of the message.
+     */
+    public Message(boolean isFromUser, String text) {
+        this.isFromUser = isFromUser;
+        this.text = new SimpleStringProperty(text);
+    }
+
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+    public String getText() {
+        return text.get();
+    }
+
+    public void setText(String text) {
+        this.text.set(text);
+    }
+
+    public StringProperty textProperty() {
+        return text;
+    }
+}
@@ -0,0 +1,48 @@
+package nicholas.gui;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * Shows a {@link Message} in the transcript as a {@link DialogBox}.
+ * <p>
+ * The list view only creates enough cells to fill the window and reuses them as the user scrolls,
+ * so each cell builds one dialog box per speaker once and only swaps the text it shows.
+ * </p>
+ */
+public class MessageCell extends ListCell<Message> {
+    private final DialogBox userDialog;
+    private final DialogBox nicholasDialog;
+    private Message shownMessage;
+
+    /**
+     * Constructs a cell that shows messages with the given display pictures.
+     *
+     * @param userImage The picture shown next to the user's messages.
+     * @param nicholasImage The picture shown next to Nicholas's messages.
+     */
+    public MessageCell(Image userImage, Image nicholasImage) {
+        userDialog = DialogBox.getUserDialog("", userImage);
+        nicholasDialog = DialogBox.getNicholasDialog("", nicholasImage);
+        // Let the list view's width decide the cell width, so long messages wrap instead of scrolling sideways.
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(Message message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (shownMessage != null) {
+            userDialog.textProperty().unbind();
+            nicholasDialog.textProperty().unbind();
+            shownMessage = null;
+        }
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        DialogBox dialogBox = message.isFromUser() ? userDialog : nicholasDialog;
+        dialogBox.textProperty().bind(message.textProperty());
+        shownMessage = message;
+        setGraphic(dialogBox);
+    }
+}
@@ -0,0 +1,17 @@
+package nicholas.gui;
+
+import javafx.scene.control.ListCell;
+import nicholas.tasks.Task;
+import nicholas.ui.TaskRecordParser;
+
+/**
+ * Shows one task of the task pane, numbered and with its id the way the {@code list} command shows it.
+ */
+public class TaskCell extends ListCell<Task> {
+
+    @Override
+    protected void updateItem(Task task, boolean isEmpty) {
+        super.updateItem(task, isEmpty);
+        setText(isEmpty || task == null ? null : (getIndex() + 1) + ". " + TaskRecordParser.format(task));
+    }
+}
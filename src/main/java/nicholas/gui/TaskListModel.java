@@ -0,0 +1,72 @@
+package nicholas.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskChange;
+import nicholas.tasks.TaskListListener;
+
+/**
+ * Mirrors the session's task list in an observable list for the task pane.
+ * <p>
+ * Changes arrive on the command thread and are collected until the command is done, then handed to the
+ * JavaFX application thread as one update that applies them in the same order, one row at a time, so
+ * marking or deleting a task only redraws that row. Only a reload copies the whole list.
+ * </p>
+ */
+public class TaskListModel implements TaskListListener {
+    private final ObservableList<Task> tasks = FXCollections.observableArrayList();
+    private List<Consumer<ObservableList<Task>>> pendingChanges = new ArrayList<>();
+
+    /**
+     * Returns the mirrored tasks. Must only be used on the JavaFX application thread.
+     *
+     * @return The observable list of tasks.
+     */
+    public ObservableList<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns an update that applies every change received since the last call, and starts collecting anew.
+     * Must be called on the command thread, and the update must be run on the JavaFX application thread.
+     *
+     * @return The update to run, which does nothing if no change was received.
+     */
+    public Runnable takeUpdate() {
+        List<Consumer<ObservableList<Task>>> changes = pendingChanges;
+        pendingChanges = new ArrayList<>();
+        return () -> changes.forEach(change -> change.accept(tasks));
+    }
+
+    @Override
+    public void onReset(List<Task> newTasks) {
+        List<Task> snapshot = new ArrayList<>(newTasks);
+        // The reset replaces every row, so the changes before it would only be overwritten.
+        pendingChanges.clear();
+        pendingChanges.add(rows -> rows.setAll(snapshot));
+    }
+
+    @Override
+    public void onChange(TaskChange change) {
+        int index = change.getIndex();
+        Task task = change.getTask();
+        switch (change.getType()) {
+        case ADDED:
+            pendingChanges.add(rows -> rows.add(index, task));
+            break;
+        case UPDATED:
+            pendingChanges.add(rows -> rows.set(index, task));
+            break;
+        case REMOVED:
+            pendingChanges.add(rows -> rows.remove(index));
+            break;
+        default:
+            throw new IllegalStateException("Unknown task change: " + change.getType());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package nicholas.gui;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps messages that were dropped from the on-screen transcript in a temporary file.
+ * <p>
+ * The archive works like a stack: the oldest messages on screen are pushed as the transcript grows past
+ * its limit, and the newest archived messages are popped back when the user asks for earlier messages.
+ * Only the file offset of each message stays in memory. The file is deleted when the archive is closed.
+ * </p>
+ */
+public class TranscriptArchive {
+    private static final char USER_MARKER = 'U';
+    private static final char NICHOLAS_MARKER = 'N';
+
+    private final Path path;
+    private final FileChannel channel;
+    private final List<Long> offsets;
+
+    /**
+     * Constructs an empty archive backed by a new temporary file.
+     *
+     * @throws IOException If the file cannot be created.
+     */
+    public TranscriptArchive() throws IOException {
+        path = Files.createTempFile("nicholas-transcript", ".log");
+        path.toFile().deleteOnExit();
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        offsets = new ArrayList<>();
+    }
+
+    /**
+     * Appends messages to the archive, oldest first.
+     *
+     * @param messages The messages to archive.
+     * @throws IOException If the messages cannot be written.
+     */
+    public void push(List<Message> messages) throws IOException {
+        StringBuilder records = new StringBuilder();
+        long offset = channel.size();
+        for (Message message : messages) {
+            String record = toRecord(message);
+            offsets.add(offset);
+            offset += record.getBytes(StandardCharsets.UTF_8).length;
+            records.append(record);
+        }
+        channel.write(ByteBuffer.wrap(records.toString().getBytes(StandardCharsets.UTF_8)), channel.size());
+    }
+
+    /**
+     * Removes up to the given number of the most recently archived messages and returns them, oldest first.
+     *
+     * @param count The largest number of messages to return.
+     * @return The messages, in the order they were sent.
+     * @throws IOException If the messages cannot be read.
+     */
+    public List<Message> pop(int count) throws IOException {
+        int first = Math.max(0, offsets.size() - count);
+        if (first == offsets.size()) {
+            return List.of();
+        }
+        long start = offsets.get(first);
+        ByteBuffer buffer = ByteBuffer.allocate((int) (channel.size() - start));
+        channel.read(buffer, start);
+        String records = new String(buffer.array(), StandardCharsets.UTF_8);
+
+        List<Message> messages = new ArrayList<>();
+        for (String record : records.split("\n")) {
+            messages.add(fromRecord(record));
+        }
+        channel.truncate(start);
+        offsets.subList(first, offsets.size()).clear();
+        return messages;
+    }
+
+    /**
+     * Returns the number of archived messages.
+     *
+     * @return The number of messages that can be popped.
+     */
+    public int size() {
+        return offsets.size();
+    }
+
+    /**
+     * Closes and deletes the archive file.
+     *
+     * @throws IOException If the file cannot be deleted.
+     */
+    public void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    private static String toRecord(Message message) {
+        String text = message.getText().replace("\\", "\\\\").replace("\n", "\\n");
+        return (message.isFromUser() ? USER_MARKER : NICHOLAS_MARKER) + text + "\n";
+    }
+
+    private static Message fromRecord(String record) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (c == '\\' && i + 1 < record.length()) {
+                i++;
+                text.append(record.charAt(i) == 'n' ? '\n' : record.charAt(i));
+            } else {
+                text.append(c);
+            }
+        }
+        return new Message(record.charAt(0) == USER_MARKER, text.toString());
+    }
+}
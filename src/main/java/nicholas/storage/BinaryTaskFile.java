@@ -0,0 +1,233 @@
+package nicholas.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+
+import nicholas.tasks.Deadline;
+import nicholas.tasks.Event;
+import nicholas.tasks.Priority;
+import nicholas.tasks.Task;
+import nicholas.tasks.Todo;
+
+/**
+ * Reads and writes task files in a compact binary format.
+ * <p>
+ * A file starts with the magic bytes {@code NTSK}, a format version and the generation of the snapshot.
+ * Each task that follows is stored as its type, a flags byte (bit 0 is the done flag), its priority, its id,
+ * its dates as epoch seconds, and a length-prefixed UTF-8 description. Dates are kept as numbers, so neither
+ * loading nor saving formats or parses any date strings.
+ * </p>
+ */
+public class BinaryTaskFile {
+    private static final byte[] MAGIC = {'N', 'T', 'S', 'K'};
+    private static final short VERSION = 3;
+    private static final int DONE_FLAG = 1;
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    /**
+     * Returns whether the file starts with the binary task file header.
+     *
+     * @param path The file to inspect.
+     * @return True if the file is a binary task file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean hasHeader(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] header = in.readNBytes(MAGIC.length);
+            if (header.length != MAGIC.length) {
+                return false;
+            }
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (header[i] != MAGIC[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns the generation in the header of the given file.
+     *
+     * @param path The file to read.
+     * @return The generation of the snapshot in the file.
+     * @throws IOException If the file cannot be read or is not a supported binary task file.
+     */
+    public static long readGeneration(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return readHeader(in);
+        } catch (EOFException e) {
+            throw new IOException("Truncated binary task file: " + path, e);
+        }
+    }
+
+    /**
+     * Writes the tasks to the given file, replacing its contents.
+     *
+     * @param path The file to write.
+     * @param tasks The tasks to write.
+     * @param generation The generation of the snapshot.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void save(Path path, List<Task> tasks, long generation) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.write(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(generation);
+            for (Task task : tasks) {
+                writeTask(out, task);
+            }
+        }
+    }
+
+    /**
+     * Reads every task in the given file and passes it to the action, in file order.
+     *
+     * @param path The file to read.
+     * @param action The action to run for each task.
+     * @throws IOException If the file cannot be read or is not a supported binary task file.
+     */
+    public static void load(Path path, Consumer<Task> action) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            try {
+                readHeader(in);
+            } catch (EOFException e) {
+                throw new IOException("Truncated binary task file: " + path, e);
+            }
+            while (true) {
+                int type = in.read();
+                if (type == -1) {
+                    break;
+                }
+                try {
+                    action.accept(readTask(in, type));
+                } catch (EOFException e) {
+                    throw new IOException("Truncated binary task file: " + path, e);
+                }
+            }
+        }
+    }
+
+    private static long readHeader(DataInputStream in) throws IOException {
+        byte[] header = new byte[MAGIC.length];
+        in.readFully(header);
+        checkVersion(in.readShort());
+        return in.readLong();
+    }
+
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        out.writeByte(task.getTaskType().charAt(0));
+        out.writeByte(task.getStatusIcon().equals("X") ? DONE_FLAG : 0);
+        out.writeByte(task.getPriority().ordinal());
+        out.writeLong(task.getId());
+        if (task instanceof Deadline) {
+            out.writeLong(toEpochSecond(((Deadline) task).getBy()));
+        } else if (task instanceof Event) {
+            out.writeLong(toEpochSecond(((Event) task).getFrom()));
+            out.writeLong(toEpochSecond(((Event) task).getTo()));
+        }
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(description.length);
+        out.write(description);
+    }
+
+    /**
+     * Reads every task in the given buffer, which holds a whole binary task file, and passes it to the action.
+     *
+     * @param buffer The file contents, positioned at the start of the header.
+     * @param path The file the buffer was read from, for error messages.
+     * @param action The action to run for each task.
+     * @throws IOException If the buffer is not a supported binary task file.
+     */
+    static void load(ByteBuffer buffer, Path path, Consumer<Task> action) throws IOException {
+        try {
+            buffer.position(buffer.position() + MAGIC.length);
+            checkVersion(buffer.getShort());
+            buffer.getLong();
+            while (buffer.hasRemaining()) {
+                int type = buffer.get();
+                int flags = Byte.toUnsignedInt(buffer.get());
+                int priority = Byte.toUnsignedInt(buffer.get());
+                long id = buffer.getLong();
+                long first = type == 'D' || type == 'E' ? buffer.getLong() : 0;
+                long second = type == 'E' ? buffer.getLong() : 0;
+                byte[] description = new byte[buffer.getInt()];
+                buffer.get(description);
+                action.accept(toTask(type, flags, priority, id, first, second,
+                        new String(description, StandardCharsets.UTF_8)));
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IOException("Truncated binary task file: " + path, e);
+        }
+    }
+
+    private static void checkVersion(short version) throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary task file version: " + version);
+        }
+    }
+
+    private static Task readTask(DataInputStream in, int type) throws IOException {
+        int flags = in.readUnsignedByte();
+        int priority = in.readUnsignedByte();
+        long id = in.readLong();
+        long first = type == 'D' || type == 'E' ? in.readLong() : 0;
+        long second = type == 'E' ? in.readLong() : 0;
+        return toTask(type, flags, priority, id, first, second, readDescription(in));
+    }
+
+    private static Task toTask(int type, int flags, int priority, long id, long first, long second,
+            String description) throws IOException {
+        if (priority >= PRIORITIES.length) {
+            throw new IOException("Invalid priority in binary task file: " + priority);
+        }
+        Task task;
+        switch (type) {
+        case 'T':
+            task = new Todo(description);
+            break;
+        case 'D':
+            task = new Deadline(description, fromEpochSecond(first));
+            break;
+        case 'E':
+            task = new Event(description, fromEpochSecond(first), fromEpochSecond(second));
+            break;
+        default:
+            throw new IOException("Invalid task type in binary task file: " + type);
+        }
+        if ((flags & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        task.setPriority(PRIORITIES[priority]);
+        task.setId(id);
+        return task;
+    }
+
+    private static String readDescription(DataInputStream in) throws IOException {
+        byte[] description = new byte[in.readInt()];
+        in.readFully(description);
+        return new String(description, StandardCharsets.UTF_8);
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,64 @@
+package nicholas.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import nicholas.tasks.Task;
+
+/**
+ * Stores the task snapshot in the binary format of {@link BinaryTaskFile}, reading it through a buffered stream.
+ */
+public class BinaryTaskStore implements TaskStore {
+    protected final Path path;
+
+    /**
+     * Constructs a BinaryTaskStore backed by the given file.
+     *
+     * @param path The binary task file.
+     */
+    public BinaryTaskStore(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    @Override
+    public List<Task> load() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        BinaryTaskFile.load(path, tasks::add);
+        return tasks;
+    }
+
+    /**
+     * Writes the tasks to a temporary file first and then moves it over the old one,
+     * so a crash mid-write never leaves a half-written task file behind.
+     */
+    @Override
+    public void save(List<Task> tasks, long generation) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        BinaryTaskFile.save(temporary, tasks, generation);
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public long getGeneration() throws IOException {
+        return exists() ? BinaryTaskFile.readGeneration(path) : 0;
+    }
+
+    @Override
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public String getVersion() {
+        return TaskStores.fileVersion(path);
+    }
+}
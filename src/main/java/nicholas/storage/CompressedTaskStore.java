@@ -0,0 +1,118 @@
+package nicholas.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import nicholas.tasks.Task;
+import nicholas.ui.Parser;
+import nicholas.ui.TaskRecordParser;
+
+/**
+ * Stores the task snapshot as gzip-compressed text, one task per line.
+ * <p>
+ * Task records repeat the same markers, priorities and date formats on every line, so they compress well.
+ * Both directions stream through a fixed-size buffer, so neither the compressed nor the plain text of the
+ * whole file is ever held in memory. The file can be read with {@code zcat} like any gzip file.
+ * The text starts with a generation line, as in {@link TextTaskStore}.
+ * </p>
+ */
+public class CompressedTaskStore implements TaskStore {
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+    private static final int BUFFER_BYTES = 64 << 10;
+
+    private final Path path;
+
+    /**
+     * Constructs a CompressedTaskStore backed by the given file.
+     *
+     * @param path The compressed task file.
+     */
+    public CompressedTaskStore(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns whether the file starts with the gzip header.
+     *
+     * @param path The file to inspect.
+     * @return True if the file is gzip-compressed.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean hasHeader(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return in.read() == GZIP_MAGIC_FIRST && in.read() == GZIP_MAGIC_SECOND;
+        }
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    @Override
+    public List<Task> load() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        Parser parser = new Parser();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(path), BUFFER_BYTES), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && !TextTaskStore.isGenerationLine(line)) {
+                    tasks.add(parser.parseTask(line));
+                }
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public long getGeneration() throws IOException {
+        if (!exists()) {
+            return 0;
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            return TextTaskStore.readGeneration(in);
+        }
+    }
+
+    /**
+     * Compresses the tasks into a temporary file first and then moves it over the old one,
+     * so a crash mid-write never leaves a half-written task file behind.
+     */
+    @Override
+    public void save(List<Task> tasks, long generation) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temporary), BUFFER_BYTES), StandardCharsets.UTF_8))) {
+            TextTaskStore.writeGeneration(writer, generation);
+            for (Task task : tasks) {
+                writer.write(TaskRecordParser.format(task));
+                writer.write("\n");
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public String getVersion() {
+        return TaskStores.fileVersion(path);
+    }
+}
@@ -0,0 +1,24 @@
+package nicholas.storage;
+
+/**
+ * Represents how eagerly journaled changes are written to disk.
+ */
+public enum Durability {
+    /** Writes every change before the command that made it returns. */
+    SYNC,
+    /** Buffers changes and writes them together from a background thread every few milliseconds or changes. */
+    GROUP_COMMIT,
+    /** Buffers changes in memory until the storage is closed, normally on {@code bye}. */
+    ON_EXIT;
+
+    /**
+     * Returns the durability level with the given name, ignoring case and accepting dashes for underscores.
+     *
+     * @param name The name of the durability level, such as "sync" or "group-commit".
+     * @return The matching durability level.
+     * @throws IllegalArgumentException If no durability level has that name.
+     */
+    public static Durability fromName(String name) {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+}
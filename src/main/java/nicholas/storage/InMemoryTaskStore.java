@@ -0,0 +1,56 @@
+package nicholas.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import nicholas.tasks.Task;
+
+/**
+ * Keeps task snapshots in memory, so the task list can be exercised without any file I/O.
+ * <p>
+ * Snapshots are kept per path for the life of the process, so separate stores opened on the same path,
+ * such as those of a test and the storage it checks, see each other's tasks. Saved lists are copied,
+ * but the tasks in them are shared with the caller.
+ * </p>
+ */
+public class InMemoryTaskStore implements TaskStore {
+    private static final Map<String, List<Task>> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    private final String key;
+
+    /**
+     * Constructs an InMemoryTaskStore holding the snapshot for the given path.
+     *
+     * @param key The task file path the snapshot stands in for.
+     */
+    public InMemoryTaskStore(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public boolean exists() {
+        return SNAPSHOTS.containsKey(key);
+    }
+
+    @Override
+    public List<Task> load() {
+        return new ArrayList<>(SNAPSHOTS.getOrDefault(key, List.of()));
+    }
+
+    @Override
+    public void save(List<Task> tasks, long generation) {
+        SNAPSHOTS.put(key, new ArrayList<>(tasks));
+    }
+
+    @Override
+    public void delete() {
+        SNAPSHOTS.remove(key);
+    }
+
+    @Override
+    public boolean isDurable() {
+        return false;
+    }
+}
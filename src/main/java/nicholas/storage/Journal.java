@@ -0,0 +1,350 @@
+package nicholas.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import nicholas.tasks.TaskList;
+import nicholas.ui.Parser;
+
+/**
+ * Represents an append-only log of task list mutations.
+ * Each mutation is written as a single line of the form {@code OPERATION argument},
+ * so recording a change costs one small append regardless of how many tasks exist.
+ * <p>
+ * Depending on the configured {@link Durability}, records are written as they are appended, written in
+ * batches by a background flusher thread, or held in memory until the journal is closed.
+ * </p>
+ * <p>
+ * The first line of the file names the generation of the snapshot the records apply to, as
+ * {@code BASE <generation>}. A journal written against another generation is not replayed. It is usually
+ * one left behind by a crash between writing a checkpoint and clearing the journal, but a snapshot can
+ * also be replaced from outside, so the journal is moved aside rather than deleted, and the caller is told.
+ * </p>
+ */
+public class Journal {
+    private static final String BASE_PREFIX = "BASE ";
+    private static final String STALE_SUFFIX = ".stale-";
+
+    private final Path path;
+    private final StorageConfig config;
+    private final Object writeLock = new Object();
+    private List<String> pending;
+    private int entryCount;
+    private Thread flusher;
+    private boolean isClosed;
+    private IOException flushFailure;
+    private long snapshotGeneration;
+
+    /**
+     * Constructs a Journal backed by the given file that writes every record as it is appended.
+     *
+     * @param path The path of the journal file.
+     */
+    public Journal(Path path) {
+        this(path, StorageConfig.defaults().withDurability(Durability.SYNC));
+    }
+
+    /**
+     * Constructs a Journal backed by the given file that writes records according to the given configuration.
+     *
+     * @param path The path of the journal file.
+     * @param config The durability settings of the journal.
+     */
+    public Journal(Path path, StorageConfig config) {
+        this.path = path;
+        this.config = config;
+        this.pending = new ArrayList<>();
+        this.entryCount = 0;
+    }
+
+    /**
+     * Sets the generation of the snapshot that the records apply to. Records are only replayed on top of
+     * a snapshot of the same generation.
+     *
+     * @param snapshotGeneration The generation of the snapshot, or 0 if there is none.
+     */
+    public synchronized void setSnapshotGeneration(long snapshotGeneration) {
+        this.snapshotGeneration = snapshotGeneration;
+    }
+
+    /**
+     * Appends a single mutation record to the end of the journal.
+     * In {@link Durability#SYNC} mode the record is on disk when this returns; otherwise it is buffered.
+     *
+     * @param operation The mutation that was applied.
+     * @param argument The task index, task record, or both, that the mutation applies to.
+     * @throws IOException If the record, or an earlier buffered record, cannot be written.
+     */
+    public void append(JournalOperation operation, String argument) throws IOException {
+        assert !argument.contains("\n") : "Journal argument should fit on a single line";
+        synchronized (this) {
+            if (flushFailure != null) {
+                throw flushFailure;
+            }
+            pending.add(operation.name() + " " + argument + "\n");
+            if (operation != JournalOperation.RESERVE) {
+                entryCount++;
+            }
+            if (config.getDurability() == Durability.GROUP_COMMIT) {
+                startFlusher();
+                if (pending.size() >= config.getGroupCommitSize()) {
+                    notifyAll();
+                }
+            }
+        }
+        if (config.getDurability() == Durability.SYNC) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes every buffered record to the journal file in a single append.
+     *
+     * @throws IOException If the records cannot be written.
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            List<String> batch;
+            long baseGeneration;
+            synchronized (this) {
+                if (flushFailure != null) {
+                    throw flushFailure;
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                baseGeneration = snapshotGeneration;
+            }
+            boolean isNewFile = !Files.exists(path) || Files.size(path) == 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (isNewFile) {
+                    writer.write(BASE_PREFIX + baseGeneration + "\n");
+                }
+                for (String record : batch) {
+                    writer.write(record);
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    flushFailure = e;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Writes any buffered records and stops the background flusher, if one is running.
+     *
+     * @throws IOException If the buffered records cannot be written.
+     */
+    public void close() throws IOException {
+        Thread runningFlusher;
+        synchronized (this) {
+            isClosed = true;
+            runningFlusher = flusher;
+            flusher = null;
+            notifyAll();
+        }
+        if (runningFlusher != null) {
+            try {
+                runningFlusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private void startFlusher() {
+        if (flusher != null || isClosed) {
+            return;
+        }
+        flusher = new Thread(this::runFlusher, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    private void runFlusher() {
+        try {
+            while (true) {
+                synchronized (this) {
+                    long deadline = System.currentTimeMillis() + config.getGroupCommitMillis();
+                    long remaining = config.getGroupCommitMillis();
+                    while (!isClosed && pending.size() < config.getGroupCommitSize() && remaining > 0) {
+                        wait(remaining);
+                        remaining = deadline - System.currentTimeMillis();
+                    }
+                    if (isClosed) {
+                        return;
+                    }
+                }
+                flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The failure is kept in flushFailure and reported by the next append, flush or close.
+        }
+    }
+
+    /**
+     * Re-applies every record in the journal to the given task list, in the order they were written.
+     * A record that cannot be applied, such as a line torn by a crash mid-write, ends the replay, and the
+     * journal is cut off before it so records appended later are not hidden behind it.
+     * <p>
+     * A journal that does not start with the header naming the generation set by
+     * {@link #setSnapshotGeneration(long)} is not replayed. If it changes any task, it is moved aside to a
+     * file next to it, whose path is returned; otherwise it is discarded.
+     * </p>
+     *
+     * @param taskList The task list to apply the records to.
+     * @param parser The parser used to rebuild added tasks.
+     * @return The path the journal was moved aside to, or null if it was replayed or discarded.
+     * @throws IOException If the journal cannot be read, cut off or moved aside.
+     */
+    public Path replay(TaskList taskList, Parser parser) throws IOException {
+        flush();
+        int applied = 0;
+        if (Files.exists(path)) {
+            byte[] records = Files.readAllBytes(path);
+            int start = 0;
+            while (start < records.length) {
+                int end = indexOfNewline(records, start);
+                if (end < 0) {
+                    // Every record ends with a newline, so a last line without one was torn mid-write.
+                    break;
+                }
+                String line = new String(records, start, end - start, StandardCharsets.UTF_8);
+                if (start == 0) {
+                    if (!line.equals(BASE_PREFIX + getSnapshotGeneration())) {
+                        return setAside(records, end + 1);
+                    }
+                } else if (!line.isEmpty()) {
+                    try {
+                        if (apply(line, taskList, parser)) {
+                            applied++;
+                        }
+                    } catch (RuntimeException e) {
+                        break;
+                    }
+                }
+                start = end + 1;
+            }
+            if (start < records.length) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(start);
+                }
+            }
+        }
+        synchronized (this) {
+            entryCount = applied;
+        }
+        return null;
+    }
+
+    private synchronized long getSnapshotGeneration() {
+        return snapshotGeneration;
+    }
+
+    private Path setAside(byte[] records, int recordsStart) throws IOException {
+        if (!hasTaskChanges(records, recordsStart)) {
+            clear();
+            return null;
+        }
+        Path stalePath = path.resolveSibling(path.getFileName() + STALE_SUFFIX + System.currentTimeMillis());
+        synchronized (writeLock) {
+            synchronized (this) {
+                pending.clear();
+                entryCount = 0;
+            }
+            Files.move(path, stalePath);
+        }
+        return stalePath;
+    }
+
+    private static boolean hasTaskChanges(byte[] records, int start) {
+        String reservePrefix = JournalOperation.RESERVE.name() + " ";
+        for (String line : new String(records, start, records.length - start, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty() && !line.startsWith(reservePrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOfNewline(byte[] records, int from) {
+        for (int i = from; i < records.length; i++) {
+            if (records[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Applies a record to the task list and returns whether it was a change to the tasks.
+     */
+    private boolean apply(String line, TaskList taskList, Parser parser) {
+        int separator = line.indexOf(' ');
+        if (separator == -1) {
+            throw new IllegalArgumentException("Invalid journal record: " + line);
+        }
+        JournalOperation operation = JournalOperation.valueOf(line.substring(0, separator));
+        String argument = line.substring(separator + 1);
+        switch (operation) {
+        case ADD:
+            taskList.addTask(parser.parseTask(argument));
+            break;
+        case SET:
+            int separatorIndex = argument.indexOf(' ');
+            taskList.replaceTask(Integer.parseInt(argument.substring(0, separatorIndex)),
+                    parser.parseTask(argument.substring(separatorIndex + 1)));
+            break;
+        case DELETE:
+            taskList.deleteTask(Integer.parseInt(argument));
+            break;
+        case RESERVE:
+            taskList.reserveIds(Long.parseLong(argument));
+            return false;
+        default:
+            throw new IllegalArgumentException("Unknown journal operation: " + operation);
+        }
+        return true;
+    }
+
+    /**
+     * Discards every record in the journal, written or buffered, typically after its contents have been
+     * checkpointed.
+     *
+     * @throws IOException If the journal file cannot be removed.
+     */
+    public void clear() throws IOException {
+        synchronized (writeLock) {
+            synchronized (this) {
+                pending.clear();
+                entryCount = 0;
+            }
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Returns the number of records currently in the journal that change tasks, which leaves out
+     * {@link JournalOperation#RESERVE} records.
+     *
+     * @return The number of journal records.
+     */
+    public synchronized int size() {
+        return entryCount;
+    }
+}
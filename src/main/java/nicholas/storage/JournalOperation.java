@@ -0,0 +1,11 @@
+package nicholas.storage;
+
+/**
+ * Represents the kinds of task list mutations that can be recorded in a {@code Journal}.
+ * {@code ADD} appends a task and {@code SET} replaces the task at an index, both with a full record, and
+ * {@code DELETE} removes the task at an index. {@code RESERVE} changes no task; it carries the highest
+ * id given out, for when the tasks holding the highest ids were deleted before the snapshot was taken.
+ */
+public enum JournalOperation {
+    ADD, SET, DELETE, RESERVE
+}
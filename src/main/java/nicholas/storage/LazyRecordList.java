@@ -0,0 +1,266 @@
+package nicholas.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import nicholas.tasks.Task;
+import nicholas.ui.Parser;
+import nicholas.ui.TaskRecordParser;
+
+/**
+ * A list of the tasks in a text task file that only parses a task the first time it is read.
+ * <p>
+ * Loading reads the file in one bulk read and records where each line starts and ends, without decoding or
+ * parsing anything.
+ * A line becomes a {@link Task} when {@link #get(int)} first asks for it, so a session that touches
+ * a few tasks only pays for those. Each entry costs two offsets, an id and a reference until it is read.
+ * Tasks added after loading are held directly. The list supports adding, replacing and removing tasks
+ * and is not thread-safe.
+ * </p>
+ * <p>
+ * The id at the start of each line is read while indexing, and lines without one, or whose id is not
+ * greater than the one before, are given the next id, as {@link nicholas.tasks.TaskList#assignIds} does.
+ * A task added to the end is given the next id in the same way, without building the task before it.
+ * </p>
+ * <p>
+ * The file is read into a heap buffer rather than memory-mapped. A live mapping would keep the file open
+ * until the buffer is garbage collected, and on Windows a mapped file cannot be replaced, so every
+ * checkpoint's move over the old snapshot would fail. The buffer costs one byte per byte of the file.
+ * </p>
+ */
+public class LazyRecordList extends AbstractList<Task> implements RandomAccess {
+    private static final byte[] GENERATION_PREFIX = TextTaskStore.GENERATION_PREFIX.getBytes(StandardCharsets.US_ASCII);
+
+    private final ByteBuffer records;
+    private final Parser parser;
+    private int[] starts;
+    private int[] ends;
+    private long[] ids;
+    private Task[] tasks;
+    private int size;
+
+    private LazyRecordList(ByteBuffer records, int[] starts, int[] ends, long[] ids, int size) {
+        this.records = records;
+        this.parser = new Parser();
+        this.starts = starts;
+        this.ends = ends;
+        this.ids = ids;
+        this.tasks = new Task[starts.length];
+        this.size = size;
+    }
+
+    /**
+     * Reads the given text task file and indexes its non-blank lines, other than its generation line.
+     * Returns null for files too large to hold in one buffer, which must be loaded eagerly instead.
+     *
+     * @param path The text task file.
+     * @return The lazily parsed tasks of the file, or null if the file is too large.
+     * @throws IOException If the file cannot be read.
+     */
+    public static LazyRecordList open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) fileSize);
+            int bytesRead = 0;
+            while (buffer.hasRemaining() && bytesRead >= 0) {
+                bytesRead = channel.read(buffer);
+            }
+            return index(buffer, buffer.position());
+        }
+    }
+
+    private static LazyRecordList index(ByteBuffer buffer, int length) {
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        long[] ids = new long[16];
+        long lastId = 0;
+        int count = 0;
+        int lineStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i < length && buffer.get(i) != '\n') {
+                continue;
+            }
+            int lineEnd = i;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart && !isGenerationLine(buffer, lineStart, lineEnd)) {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                int recordStart = skipId(buffer, lineStart, lineEnd);
+                long id = recordStart > lineStart ? readId(buffer, lineStart + 1, recordStart - 1) : 0;
+                lastId = id > lastId ? id : lastId + 1;
+                starts[count] = recordStart;
+                ends[count] = lineEnd;
+                ids[count] = lastId;
+                count++;
+            }
+            lineStart = i + 1;
+        }
+        return new LazyRecordList(buffer, starts, ends, ids, count);
+    }
+
+    private static boolean isGenerationLine(ByteBuffer buffer, int lineStart, int lineEnd) {
+        if (lineEnd - lineStart < GENERATION_PREFIX.length) {
+            return false;
+        }
+        for (int i = 0; i < GENERATION_PREFIX.length; i++) {
+            if (buffer.get(lineStart + i) != GENERATION_PREFIX[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns where the record of a line starts, after its id and the space that follows it, if it has one.
+     */
+    private static int skipId(ByteBuffer buffer, int lineStart, int lineEnd) {
+        if (buffer.get(lineStart) != '#') {
+            return lineStart;
+        }
+        int i = lineStart + 1;
+        while (i < lineEnd && i - lineStart <= 18 && buffer.get(i) >= '0' && buffer.get(i) <= '9') {
+            i++;
+        }
+        return i > lineStart + 1 && i < lineEnd && buffer.get(i) == ' ' ? i + 1 : lineStart;
+    }
+
+    private static long readId(ByteBuffer buffer, int start, int end) {
+        long id = 0;
+        for (int i = start; i < end; i++) {
+            id = id * 10 + (buffer.get(i) - '0');
+        }
+        return id;
+    }
+
+    /**
+     * Returns the task at the given index, parsing its line first if it has not been read yet.
+     */
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        Task task = tasks[index];
+        if (task == null) {
+            task = parser.parseTask(readLine(index));
+            task.setId(ids[index]);
+            tasks[index] = task;
+        }
+        return task;
+    }
+
+    /**
+     * Returns the text record of the task at the given index without parsing it.
+     * A task that has been read may have changed since, so its record is rebuilt from the task instead.
+     *
+     * @param index The index of the task.
+     * @return The task's line in the text format.
+     */
+    public String getRecord(int index) {
+        Objects.checkIndex(index, size);
+        return tasks[index] != null ? TaskRecordParser.format(tasks[index]) : "#" + ids[index] + " " + readLine(index);
+    }
+
+    /**
+     * Returns how many tasks have been parsed or added, which is the part of the list held on the heap.
+     *
+     * @return The number of materialized tasks.
+     */
+    public int getMaterializedCount() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (tasks[i] != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private String readLine(int index) {
+        byte[] line = new byte[ends[index] - starts[index]];
+        records.get(starts[index], line);
+        return new String(line, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        ids[index] = task.getId();
+        tasks[index] = task;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        Objects.checkIndex(index, size + 1);
+        if (size == tasks.length) {
+            int capacity = Math.max(16, size * 2);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            tasks = Arrays.copyOf(tasks, capacity);
+        }
+        System.arraycopy(starts, index, starts, index + 1, size - index);
+        System.arraycopy(ends, index, ends, index + 1, size - index);
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        System.arraycopy(tasks, index, tasks, index + 1, size - index);
+        if (index == size) {
+            long lastId = size > 0 ? ids[size - 1] : 0;
+            if (task.getId() <= lastId) {
+                task.setId(lastId + 1);
+            }
+        }
+        ids[index] = task.getId();
+        tasks[index] = task;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        System.arraycopy(starts, index + 1, starts, index, size - index - 1);
+        System.arraycopy(ends, index + 1, ends, index, size - index - 1);
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(tasks, index + 1, tasks, index, size - index - 1);
+        size--;
+        tasks[size] = null;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes a range of records with a single shift, without parsing them.
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        int removed = toIndex - fromIndex;
+        System.arraycopy(starts, toIndex, starts, fromIndex, size - toIndex);
+        System.arraycopy(ends, toIndex, ends, fromIndex, size - toIndex);
+        System.arraycopy(ids, toIndex, ids, fromIndex, size - toIndex);
+        System.arraycopy(tasks, toIndex, tasks, fromIndex, size - toIndex);
+        Arrays.fill(tasks, size - removed, size, null);
+        size -= removed;
+        modCount++;
+    }
+}
@@ -0,0 +1,26 @@
+package nicholas.storage;
+
+/**
+ * Represents how a text task file is read and parsed at startup.
+ */
+public enum LoadMode {
+    /** Parses the file line by line on the calling thread. */
+    SEQUENTIAL,
+    /** Splits the file into line-aligned chunks and parses them on a fork-join pool. */
+    PARALLEL,
+    /** Indexes the lines of the file and parses each task only when it is first read, see {@link LazyRecordList}. */
+    LAZY,
+    /** Picks parallel loading for large files and sequential loading otherwise. */
+    AUTO;
+
+    /**
+     * Returns the load mode with the given name, ignoring case.
+     *
+     * @param name The name of the load mode, such as "sequential" or "parallel".
+     * @return The matching load mode.
+     * @throws IllegalArgumentException If no load mode has that name.
+     */
+    public static LoadMode fromName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,173 @@
+package nicholas.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+import nicholas.tasks.Task;
+import nicholas.ui.Parser;
+
+/**
+ * Loads text task files by parsing line-aligned chunks of the file in parallel.
+ * <p>
+ * The file is cut into roughly equal chunks, each extended to the end of its last line. Every chunk is read
+ * into its own heap buffer with a positional read and parsed into its own list on a {@link ForkJoinPool},
+ * and the lists are handed back in chunk order so the tasks keep their file order.
+ * </p>
+ */
+public class ParallelTaskLoader {
+    /** Files at least this large are worth the cost of splitting when loading in {@link LoadMode#AUTO}. */
+    public static final long PARALLEL_THRESHOLD_BYTES = 8L << 20;
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final int MIN_CHUNK_BYTES = 64 << 10;
+    private static final int BOUNDARY_PROBE_BYTES = 4 << 10;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a loader that parses chunks on the common fork-join pool.
+     */
+    public ParallelTaskLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a loader that parses chunks on the given pool.
+     *
+     * @param pool The pool to parse chunks on.
+     */
+    public ParallelTaskLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Parses every task in the file and passes it to the action, in file order.
+     * Files of 2 GB or more are read sequentially instead.
+     *
+     * @param path The text task file to load.
+     * @param action The action to run for each task.
+     * @throws IOException If the file cannot be read.
+     */
+    public void load(Path path, Consumer<Task> action) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                Parser parser = new Parser();
+                TaskFileReader.forEachLine(path, line -> {
+                    if (!TextTaskStore.isGenerationLine(line)) {
+                        action.accept(parser.parseTask(line));
+                    }
+                });
+                return;
+            }
+            List<ParseChunk> chunks = split(channel, (int) size);
+            try {
+                pool.invoke(new ParseAll(chunks));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            for (ParseChunk chunk : chunks) {
+                chunk.join().forEach(action);
+            }
+        }
+    }
+
+    private List<ParseChunk> split(FileChannel channel, int size) throws IOException {
+        int chunkCount = Math.max(1, Math.min(pool.getParallelism() * CHUNKS_PER_WORKER, size / MIN_CHUNK_BYTES));
+        List<ParseChunk> chunks = new ArrayList<>(chunkCount);
+        int start = 0;
+        for (int i = 1; i <= chunkCount && start < size; i++) {
+            int end = i == chunkCount ? size : (int) ((long) size * i / chunkCount);
+            end = findLineEnd(channel, Math.max(end, start + 1), size);
+            chunks.add(new ParseChunk(channel, start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the first position at or after the given one that ends a line, or the size of the file.
+     */
+    private static int findLineEnd(FileChannel channel, int position, int size) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE_BYTES);
+        int end = position;
+        while (end < size) {
+            probe.clear();
+            int read = channel.read(probe, end - 1);
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return end + i;
+                }
+            }
+            end += Math.max(read, 1);
+        }
+        return size;
+    }
+
+    /**
+     * Forks every chunk and waits for all of them to finish.
+     */
+    private static class ParseAll extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<ParseChunk> chunks;
+
+        ParseAll(List<ParseChunk> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(chunks);
+        }
+    }
+
+    /**
+     * Reads and parses the lines of one line-aligned region of the file.
+     */
+    private static class ParseChunk extends RecursiveTask<List<Task>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final int start;
+        private final int end;
+
+        ParseChunk(FileChannel channel, int start, int end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            byte[] bytes = new byte[end - start];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            try {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) == -1) {
+                        throw new IOException("Task file ended while it was being read");
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Parser parser = new Parser();
+            List<Task> tasks = new ArrayList<>();
+            TaskFileReader.forEachLine(bytes, 0, bytes.length, line -> {
+                if (!TextTaskStore.isGenerationLine(line)) {
+                    tasks.add(parser.parseTask(line));
+                }
+            });
+            return tasks;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package nicholas.storage;
+
+/**
+ * Represents how tasks are split across the shard files of a {@link ShardedTaskStore}.
+ */
+public enum ShardScheme {
+    /** Keeps every task in a single snapshot file. */
+    NONE,
+    /** Puts todos, deadlines and events in their own shards. */
+    TYPE,
+    /** Groups tasks by when they were created, in blocks of consecutive task ids. */
+    PERIOD,
+    /** Spreads tasks over a fixed number of shards by a hash of their task id. */
+    HASH;
+
+    /**
+     * Returns the shard scheme with the given name, ignoring case.
+     *
+     * @param name The name of the scheme, such as "type" or "hash".
+     * @return The matching scheme.
+     * @throws IllegalArgumentException If no scheme has that name.
+     */
+    public static ShardScheme fromName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
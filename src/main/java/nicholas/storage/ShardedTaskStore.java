@@ -0,0 +1,339 @@
+package nicholas.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import nicholas.tasks.Task;
+import nicholas.ui.Parser;
+import nicholas.ui.TaskRecordParser;
+
+/**
+ * Stores a task snapshot split across several shard files in one directory.
+ * <p>
+ * Each shard line is a task record starting with the task's id. Ids increase along the list, so they
+ * also serve as the sequence numbers that put the tasks back in order, and a task keeps its shard and its
+ * place in it when it is changed or replaced. A {@code manifest} file names the scheme, the generation of
+ * the snapshot, and the file and length of each shard. Loading reads the shards in parallel, each only up to
+ * its length, and merges them back into list order by id.
+ * </p>
+ * <p>
+ * A save never changes what the current manifest describes. Shards whose tasks are purely appended to grow
+ * past their recorded length, and other changed shards are written to new files named after the new
+ * generation. The manifest is then replaced in one atomic move, and only after that are the files it no
+ * longer names deleted. A crash at any point leaves either the old or the new snapshot whole.
+ * </p>
+ * <p>
+ * To tell which shards changed, the store keeps the lines it last wrote for each shard, so it holds
+ * roughly one copy of the snapshot text in memory.
+ * </p>
+ */
+public class ShardedTaskStore implements TaskStore {
+    private static final String MANIFEST_FILE = "manifest";
+    private static final String GENERATION_PREFIX = "generation ";
+    private static final String SHARD_ENTRY_PREFIX = "shard ";
+    private static final String SHARD_PREFIX = "shard-";
+    private static final String SHARD_SUFFIX = ".txt";
+
+    private final Path directory;
+    private final StorageConfig config;
+    private final Map<String, Shard> writtenShards;
+
+    /**
+     * Constructs a ShardedTaskStore that keeps its shards in the given directory.
+     *
+     * @param directory The directory holding the manifest and shard files.
+     * @param config The configuration naming the shard scheme and shard sizes.
+     */
+    public ShardedTaskStore(Path directory, StorageConfig config) {
+        this.directory = directory;
+        this.config = config;
+        this.writtenShards = new HashMap<>();
+    }
+
+    /**
+     * Returns whether a sharded snapshot has been written to the directory.
+     *
+     * @return True if the manifest exists.
+     */
+    @Override
+    public boolean exists() {
+        return Files.exists(directory.resolve(MANIFEST_FILE));
+    }
+
+    /**
+     * Loads every shard listed in the manifest in parallel and returns the tasks in list order.
+     *
+     * @return The tasks in the snapshot.
+     * @throws IOException If the manifest or a shard cannot be read.
+     */
+    @Override
+    public List<Task> load() throws IOException {
+        Map<String, Shard> manifest = readManifest();
+        List<Shard> entries = new ArrayList<>(manifest.values());
+        List<List<Task>> shards;
+        try {
+            shards = entries.parallelStream().map(this::readShard).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writtenShards.clear();
+        for (int i = 0; i < entries.size(); i++) {
+            Shard entry = entries.get(i);
+            List<String> lines = new ArrayList<>();
+            for (Task task : shards.get(i)) {
+                lines.add(TaskRecordParser.format(task));
+            }
+            writtenShards.put(entry.key, new Shard(entry.key, entry.file, entry.length, lines));
+        }
+        return merge(shards);
+    }
+
+    private List<Task> merge(List<List<Task>> shards) {
+        PriorityQueue<int[]> cursors = new PriorityQueue<>((a, b) -> Long.compare(
+                shards.get(a[0]).get(a[1]).getId(), shards.get(b[0]).get(b[1]).getId()));
+        for (int i = 0; i < shards.size(); i++) {
+            if (!shards.get(i).isEmpty()) {
+                cursors.add(new int[] {i, 0});
+            }
+        }
+        List<Task> tasks = new ArrayList<>();
+        while (!cursors.isEmpty()) {
+            int[] cursor = cursors.poll();
+            tasks.add(shards.get(cursor[0]).get(cursor[1]));
+            if (++cursor[1] < shards.get(cursor[0]).size()) {
+                cursors.add(cursor);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Saves the tasks, writing only the shards whose contents changed, then atomically replaces the manifest
+     * with one naming the new generation, and finally deletes the shard files it no longer names.
+     * The generation should be newer than the current one, so no shard file in use is overwritten.
+     *
+     * @param tasks The tasks to save, in display order.
+     * @param generation The generation of the new snapshot.
+     * @throws IOException If a shard or the manifest cannot be written.
+     */
+    @Override
+    public void save(List<Task> tasks, long generation) throws IOException {
+        assert config.getShardScheme() != ShardScheme.NONE : "Sharded store needs a shard scheme to save";
+        Files.createDirectories(directory);
+        Map<String, Shard> shards = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> shard : partition(tasks).entrySet()) {
+            shards.put(shard.getKey(), writeShard(shard.getKey(), shard.getValue(), generation));
+        }
+        writeManifest(shards.values(), generation);
+        writtenShards.clear();
+        writtenShards.putAll(shards);
+        deleteShardFilesExcept(shards.values());
+    }
+
+    @Override
+    public long getGeneration() throws IOException {
+        if (!exists()) {
+            return 0;
+        }
+        for (String line : Files.readAllLines(directory.resolve(MANIFEST_FILE), StandardCharsets.UTF_8)) {
+            if (line.startsWith(GENERATION_PREFIX)) {
+                try {
+                    return Long.parseLong(line.substring(GENERATION_PREFIX.length()));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid generation in shard manifest: " + line, e);
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Removes the manifest and every shard file, for when the snapshot is stored unsharded again.
+     *
+     * @throws IOException If a file cannot be removed.
+     */
+    @Override
+    public void delete() throws IOException {
+        if (!exists()) {
+            return;
+        }
+        Files.delete(directory.resolve(MANIFEST_FILE));
+        writtenShards.clear();
+        deleteShardFilesExcept(List.of());
+    }
+
+    /**
+     * Returns the version of the manifest. Every save replaces the manifest, and a shard is only read up to
+     * the length the manifest records, so the manifest alone tells whether the snapshot changed.
+     */
+    @Override
+    public String getVersion() {
+        return exists() ? TaskStores.fileVersion(directory.resolve(MANIFEST_FILE)) : null;
+    }
+
+    private Map<String, List<String>> partition(List<Task> tasks) {
+        Map<String, List<String>> shards = new LinkedHashMap<>();
+        long previousId = 0;
+        for (Task task : tasks) {
+            // Tasks that were never given ids are numbered the way TaskList.assignIds would number them.
+            long id = task.getId() > previousId ? task.getId() : previousId + 1;
+            previousId = id;
+            shards.computeIfAbsent(shardKey(task, id), key -> new ArrayList<>()).add(toLine(id, task));
+        }
+        return shards;
+    }
+
+    private String shardKey(Task task, long id) {
+        switch (config.getShardScheme()) {
+        case TYPE:
+            return task.getTaskType();
+        case PERIOD:
+            return String.valueOf(id / config.getShardPeriodLength());
+        case HASH:
+            return String.valueOf(Math.floorMod(Long.hashCode(id), config.getShardCount()));
+        default:
+            throw new IllegalStateException("Unsupported shard scheme: " + config.getShardScheme());
+        }
+    }
+
+    private Shard writeShard(String key, List<String> lines, long generation) throws IOException {
+        Shard written = writtenShards.get(key);
+        if (written != null && lines.equals(written.lines)) {
+            return written;
+        }
+        if (written != null && lines.size() > written.lines.size()
+                && lines.subList(0, written.lines.size()).equals(written.lines)) {
+            Path path = directory.resolve(written.file);
+            byte[] appended = encode(lines.subList(written.lines.size(), lines.size()));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                // Drops whatever an earlier save appended before failing to write its manifest.
+                channel.truncate(written.length);
+                channel.write(ByteBuffer.wrap(appended), written.length);
+            }
+            return new Shard(key, written.file, written.length + appended.length, lines);
+        }
+        String file = SHARD_PREFIX + key + "-" + generation + SHARD_SUFFIX;
+        byte[] contents = encode(lines);
+        Path temporary = directory.resolve(file + ".tmp");
+        Files.write(temporary, contents);
+        Files.move(temporary, directory.resolve(file),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Shard(key, file, contents.length, lines);
+    }
+
+    private List<Task> readShard(Shard shard) {
+        Parser parser = new Parser();
+        List<Task> tasks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(directory.resolve(shard.file), StandardOpenOption.READ)) {
+            if (channel.size() < shard.length) {
+                throw new IOException("Shard file is shorter than the manifest says: " + shard.file);
+            }
+            byte[] bytes = new byte[(int) shard.length];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, buffer.position()) == -1) {
+                    throw new IOException("Shard file is shorter than the manifest says: " + shard.file);
+                }
+            }
+            TaskFileReader.forEachLine(bytes, 0, bytes.length, line -> tasks.add(parser.parseTask(line)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tasks;
+    }
+
+    private Map<String, Shard> readManifest() throws IOException {
+        Map<String, Shard> shards = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(directory.resolve(MANIFEST_FILE), StandardCharsets.UTF_8)) {
+            if (!line.startsWith(SHARD_ENTRY_PREFIX)) {
+                continue;
+            }
+            String[] fields = line.split(" ");
+            try {
+                shards.put(fields[1], new Shard(fields[1], fields[2], Long.parseLong(fields[3]), null));
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IOException("Invalid shard in shard manifest: " + line, e);
+            }
+        }
+        return shards;
+    }
+
+    private void writeManifest(Collection<Shard> shards, long generation) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("scheme " + config.getShardScheme().name());
+        lines.add(GENERATION_PREFIX + generation);
+        for (Shard shard : shards) {
+            lines.add(SHARD_ENTRY_PREFIX + shard.key + " " + shard.file + " " + shard.length);
+        }
+        Path temporary = directory.resolve(MANIFEST_FILE + ".tmp");
+        Files.write(temporary, lines, StandardCharsets.UTF_8);
+        Files.move(temporary, directory.resolve(MANIFEST_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Deletes the shard files that are not in use, including any left behind by a save that did not finish.
+     */
+    private void deleteShardFilesExcept(Collection<Shard> shards) throws IOException {
+        Set<String> inUse = new HashSet<>();
+        for (Shard shard : shards) {
+            inUse.add(shard.file);
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SHARD_PREFIX + "*")) {
+            for (Path file : files) {
+                if (!inUse.contains(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static byte[] encode(List<String> lines) {
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String toLine(long id, Task task) {
+        return id == task.getId() ? TaskRecordParser.format(task) : "#" + id + " " + task;
+    }
+
+    /**
+     * Describes one shard of a snapshot: its file, how many bytes of it belong to the snapshot, and,
+     * once read or written, its lines.
+     */
+    private static class Shard {
+        private final String key;
+        private final String file;
+        private final long length;
+        private final List<String> lines;
+
+        Shard(String key, String file, long length, List<String> lines) {
+            this.key = key;
+            this.file = file;
+            this.length = length;
+            this.lines = lines;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package nicholas.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import nicholas.tasks.Task;
+
+/**
+ * Stores the task snapshot in the binary format of {@link BinaryTaskFile}, reading the whole file into one
+ * buffer with a single channel read and decoding it in place instead of copying it through stream buffers.
+ * Snapshots are written the same way as {@link BinaryTaskStore}, so the two read each other's files.
+ * The file is read into the heap rather than memory-mapped, see {@link LazyRecordList} for why.
+ */
+public class SingleReadBinaryTaskStore extends BinaryTaskStore {
+
+    /**
+     * Constructs a SingleReadBinaryTaskStore backed by the given file.
+     *
+     * @param path The binary task file.
+     */
+    public SingleReadBinaryTaskStore(Path path) {
+        super(path);
+    }
+
+    /**
+     * Reads the whole file into a buffer and decodes it in place. Files too large for one buffer are streamed
+     * instead.
+     */
+    @Override
+    public List<Task> load() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return super.load();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            int bytesRead = 0;
+            while (buffer.hasRemaining() && bytesRead >= 0) {
+                bytesRead = channel.read(buffer);
+            }
+            buffer.flip();
+            List<Task> tasks = new ArrayList<>();
+            BinaryTaskFile.load(buffer, path, tasks::add);
+            return tasks;
+        }
+    }
+}
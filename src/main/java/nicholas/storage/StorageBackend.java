@@ -0,0 +1,30 @@
+package nicholas.storage;
+
+/**
+ * Represents the {@link TaskStore} implementations a task snapshot can be kept in.
+ */
+public enum StorageBackend {
+    /** Uses the format the task file is already in, text for a new file, and shards when sharding is set. */
+    AUTO,
+    /** Keeps snapshots in memory only, for tests and benchmarks. */
+    MEMORY,
+    /** Stores one task per line in a text file. */
+    TEXT,
+    /** Stores one task per line in a gzip-compressed text file, see {@link CompressedTaskStore}. */
+    GZIP,
+    /** Stores tasks in the binary format of {@link BinaryTaskFile}, read through a buffered stream. */
+    BINARY,
+    /** Stores tasks in the binary format of {@link BinaryTaskFile}, read in a single channel read. */
+    BINARY_SINGLE_READ;
+
+    /**
+     * Returns the backend with the given name, ignoring case.
+     *
+     * @param name The name of the backend, such as "text" or "binary-single-read".
+     * @return The matching backend.
+     * @throws IllegalArgumentException If no backend has that name.
+     */
+    public static StorageBackend fromName(String name) {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+}
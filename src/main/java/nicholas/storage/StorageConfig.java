@@ -0,0 +1,167 @@
+package nicholas.storage;
+
+/**
+ * Holds the settings that control how tasks are persisted.
+ * <p>
+ * Settings are read from system properties, for example {@code -Dnicholas.durability=sync}:
+ * </p>
+ * <ul>
+ *     <li>{@code nicholas.store}: {@code auto} (default), {@code memory}, {@code text}, {@code gzip},
+ *     {@code binary} or {@code binary-single-read}, see {@link StorageBackend}</li>
+ *     <li>{@code nicholas.load}: {@code auto} (default), {@code sequential}, {@code parallel} or {@code lazy}</li>
+ *     <li>{@code nicholas.durability}: {@code sync} (default), {@code group-commit} or {@code on-exit}</li>
+ *     <li>{@code nicholas.groupCommit.millis}: longest time a change waits before it is written (default 200)</li>
+ *     <li>{@code nicholas.groupCommit.size}: number of buffered changes that triggers a write (default 64)</li>
+ *     <li>{@code nicholas.shards}: {@code none} (default), {@code type}, {@code period} or {@code hash}</li>
+ *     <li>{@code nicholas.shards.count}: number of shards for hash sharding (default 8)</li>
+ *     <li>{@code nicholas.shards.periodLength}: number of tasks created per period shard (default 10000)</li>
+ * </ul>
+ */
+public class StorageConfig {
+    private static final long DEFAULT_GROUP_COMMIT_MILLIS = 200;
+    private static final int DEFAULT_GROUP_COMMIT_SIZE = 64;
+    private static final int DEFAULT_SHARD_COUNT = 8;
+    private static final int DEFAULT_SHARD_PERIOD_LENGTH = 10000;
+
+    private final StorageBackend backend;
+    private final LoadMode loadMode;
+    private final Durability durability;
+    private final long groupCommitMillis;
+    private final int groupCommitSize;
+    private final ShardScheme shardScheme;
+    private final int shardCount;
+    private final int shardPeriodLength;
+
+    private StorageConfig(StorageBackend backend, LoadMode loadMode, Durability durability,
+            long groupCommitMillis, int groupCommitSize, ShardScheme shardScheme,
+            int shardCount, int shardPeriodLength) {
+        assert groupCommitMillis > 0 && groupCommitSize > 0 : "Group commit limits should be positive";
+        assert shardCount > 0 && shardPeriodLength > 0 : "Shard sizes should be positive";
+        this.backend = backend;
+        this.loadMode = loadMode;
+        this.durability = durability;
+        this.groupCommitMillis = groupCommitMillis;
+        this.groupCommitSize = groupCommitSize;
+        this.shardScheme = shardScheme;
+        this.shardCount = shardCount;
+        this.shardPeriodLength = shardPeriodLength;
+    }
+
+    /**
+     * Returns the default configuration, ignoring any system properties.
+     *
+     * @return The default configuration.
+     */
+    public static StorageConfig defaults() {
+        return new StorageConfig(StorageBackend.AUTO, LoadMode.AUTO, Durability.SYNC,
+                DEFAULT_GROUP_COMMIT_MILLIS, DEFAULT_GROUP_COMMIT_SIZE, ShardScheme.NONE,
+                DEFAULT_SHARD_COUNT, DEFAULT_SHARD_PERIOD_LENGTH);
+    }
+
+    /**
+     * Returns the configuration described by the {@code nicholas.*} system properties.
+     *
+     * @return The configuration, with defaults for any property that is not set.
+     */
+    public static StorageConfig fromSystemProperties() {
+        return new StorageConfig(
+                StorageBackend.fromName(System.getProperty("nicholas.store", "auto")),
+                LoadMode.fromName(System.getProperty("nicholas.load", "auto")),
+                Durability.fromName(System.getProperty("nicholas.durability", "sync")),
+                Long.getLong("nicholas.groupCommit.millis", DEFAULT_GROUP_COMMIT_MILLIS),
+                Integer.getInteger("nicholas.groupCommit.size", DEFAULT_GROUP_COMMIT_SIZE),
+                ShardScheme.fromName(System.getProperty("nicholas.shards", "none")),
+                Integer.getInteger("nicholas.shards.count", DEFAULT_SHARD_COUNT),
+                Integer.getInteger("nicholas.shards.periodLength", DEFAULT_SHARD_PERIOD_LENGTH));
+    }
+
+    /**
+     * Returns a copy of this configuration that keeps snapshots in a different backend.
+     *
+     * @param backend The task store snapshots are kept in.
+     * @return The updated configuration.
+     */
+    public StorageConfig withBackend(StorageBackend backend) {
+        return new StorageConfig(backend, loadMode, durability, groupCommitMillis, groupCommitSize,
+                shardScheme, shardCount, shardPeriodLength);
+    }
+
+    /**
+     * Returns a copy of this configuration that parses text snapshots differently.
+     *
+     * @param loadMode How text snapshots are parsed when tasks are loaded.
+     * @return The updated configuration.
+     */
+    public StorageConfig withLoadMode(LoadMode loadMode) {
+        return new StorageConfig(backend, loadMode, durability, groupCommitMillis, groupCommitSize,
+                shardScheme, shardCount, shardPeriodLength);
+    }
+
+    /**
+     * Returns a copy of this configuration with a different durability level.
+     *
+     * @param durability How eagerly journaled changes are written.
+     * @return The updated configuration.
+     */
+    public StorageConfig withDurability(Durability durability) {
+        return new StorageConfig(backend, loadMode, durability, groupCommitMillis, groupCommitSize,
+                shardScheme, shardCount, shardPeriodLength);
+    }
+
+    /**
+     * Returns a copy of this configuration with different group commit limits.
+     *
+     * @param groupCommitMillis The longest time a change is buffered in group commit mode.
+     * @param groupCommitSize The number of buffered changes that triggers a write in group commit mode.
+     * @return The updated configuration.
+     */
+    public StorageConfig withGroupCommit(long groupCommitMillis, int groupCommitSize) {
+        return new StorageConfig(backend, loadMode, durability, groupCommitMillis, groupCommitSize,
+                shardScheme, shardCount, shardPeriodLength);
+    }
+
+    /**
+     * Returns a copy of this configuration that splits snapshots into shards.
+     *
+     * @param shardScheme How tasks are assigned to shards.
+     * @param shardCount The number of shards used by hash sharding.
+     * @param shardPeriodLength The number of tasks per shard used by period sharding.
+     * @return The updated configuration.
+     */
+    public StorageConfig withSharding(ShardScheme shardScheme, int shardCount, int shardPeriodLength) {
+        return new StorageConfig(backend, loadMode, durability, groupCommitMillis, groupCommitSize,
+                shardScheme, shardCount, shardPeriodLength);
+    }
+
+    public StorageBackend getBackend() {
+        return backend;
+    }
+
+    public LoadMode getLoadMode() {
+        return loadMode;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public long getGroupCommitMillis() {
+        return groupCommitMillis;
+    }
+
+    public int getGroupCommitSize() {
+        return groupCommitSize;
+    }
+
+    public ShardScheme getShardScheme() {
+        return shardScheme;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int getShardPeriodLength() {
+        return shardPeriodLength;
+    }
+}
@@ -0,0 +1,38 @@
+package nicholas.storage;
+
+import java.io.IOException;
+
+import nicholas.tasks.TaskList;
+import nicholas.ui.Storage;
+
+/**
+ * Converts task files between storage backends.
+ * <p>
+ * Usage: {@code StorageConverter <source> <target> <text|gzip|binary|binary-single-read>}
+ * </p>
+ */
+public class StorageConverter {
+
+    /**
+     * Converts the source task file, including any journaled changes, into the target file in the given backend.
+     *
+     * @param source The path of the task file to read.
+     * @param target The path of the task file to write.
+     * @param backend The backend to write the target file with.
+     * @throws IOException If either file cannot be accessed.
+     */
+    public static void convert(String source, String target, StorageBackend backend) throws IOException {
+        TaskList taskList = new Storage(source, StorageConfig.defaults()).loadTaskList();
+        Storage targetStorage = new Storage(target, StorageConfig.defaults().withBackend(backend));
+        targetStorage.saveTasks(taskList);
+        targetStorage.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.out.println("Usage: StorageConverter <source> <target> <text|gzip|binary|binary-single-read>");
+            return;
+        }
+        convert(args[0], args[1], StorageBackend.fromName(args[2]));
+    }
+}
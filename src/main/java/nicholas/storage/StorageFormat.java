@@ -0,0 +1,31 @@
+package nicholas.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Represents the on-disk formats a task file can be stored in.
+ */
+public enum StorageFormat {
+    TEXT, BINARY, GZIP;
+
+    /**
+     * Returns the format of an existing task file by checking for the binary or gzip header,
+     * or the given fallback if the file does not exist yet.
+     *
+     * @param path The task file to inspect.
+     * @param fallback The format to assume for a missing file.
+     * @return The format of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static StorageFormat detect(Path path, StorageFormat fallback) throws IOException {
+        if (!Files.exists(path)) {
+            return fallback;
+        }
+        if (BinaryTaskFile.hasHeader(path)) {
+            return BINARY;
+        }
+        return CompressedTaskStore.hasHeader(path) ? GZIP : TEXT;
+    }
+}
@@ -0,0 +1,89 @@
+package nicholas.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reads task files line by line through a {@link FileChannel} in large blocks.
+ * <p>
+ * Lines are found by scanning the raw bytes for {@code '\n'}, which is safe for UTF-8 since that byte
+ * never appears inside a multi-byte character, so no regex or per-line reader state is involved.
+ * Trailing {@code '\r'} characters are dropped and blank lines are skipped.
+ * </p>
+ */
+public class TaskFileReader {
+    private static final int BLOCK_SIZE = 1 << 20;
+
+    /**
+     * Passes every non-blank line of the file to the given action, in file order.
+     *
+     * @param path The file to read.
+     * @param action The action to run for each line.
+     * @throws IOException If the file cannot be read.
+     */
+    public static void forEachLine(Path path, Consumer<String> action) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            byte[] block = new byte[(int) Math.min(BLOCK_SIZE, Math.max(channel.size(), 1))];
+            int filled = 0;
+            int scanFrom = 0;
+            while (true) {
+                if (filled == block.length) {
+                    // A single line is longer than the block, so grow it instead of splitting the line.
+                    block = Arrays.copyOf(block, block.length * 2);
+                }
+                int read = channel.read(ByteBuffer.wrap(block, filled, block.length - filled));
+                if (read == -1) {
+                    break;
+                }
+                filled += read;
+                int lineStart = 0;
+                for (int i = scanFrom; i < filled; i++) {
+                    if (block[i] == '\n') {
+                        emitLine(block, lineStart, i, action);
+                        lineStart = i + 1;
+                    }
+                }
+                int remaining = filled - lineStart;
+                System.arraycopy(block, lineStart, block, 0, remaining);
+                filled = remaining;
+                scanFrom = remaining;
+            }
+            emitLine(block, 0, filled, action);
+        }
+    }
+
+    /**
+     * Passes every non-blank line within the given range of bytes to the action, in order.
+     * The range is expected to end on a line boundary or at the end of the file.
+     *
+     * @param bytes The bytes to scan.
+     * @param start The index of the first byte of the range.
+     * @param end The index just past the last byte of the range.
+     * @param action The action to run for each line.
+     */
+    static void forEachLine(byte[] bytes, int start, int end, Consumer<String> action) {
+        int lineStart = start;
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == '\n') {
+                emitLine(bytes, lineStart, i, action);
+                lineStart = i + 1;
+            }
+        }
+        emitLine(bytes, lineStart, end, action);
+    }
+
+    private static void emitLine(byte[] block, int start, int end, Consumer<String> action) {
+        if (end > start && block[end - 1] == '\r') {
+            end--;
+        }
+        if (end > start) {
+            action.accept(new String(block, start, end - start, StandardCharsets.UTF_8));
+        }
+    }
+}
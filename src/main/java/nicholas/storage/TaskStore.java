@@ -0,0 +1,81 @@
+package nicholas.storage;
+
+import java.io.IOException;
+import java.util.List;
+
+import nicholas.tasks.Task;
+
+/**
+ * Represents a place where a snapshot of the whole task list is kept.
+ * <p>
+ * {@link nicholas.ui.Storage} reads and writes its checkpoints through a task store and journals the changes
+ * in between, so a store only ever deals with complete snapshots. The store used is chosen by
+ * {@link StorageConfig#getBackend()}.
+ * </p>
+ */
+public interface TaskStore {
+
+    /**
+     * Returns whether a snapshot has been saved to this store.
+     *
+     * @return True if there is a snapshot to load.
+     */
+    boolean exists();
+
+    /**
+     * Loads the tasks in the snapshot, in display order.
+     *
+     * @return The tasks in the snapshot.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    List<Task> load() throws IOException;
+
+    /**
+     * Replaces the snapshot with the given tasks, writing the given generation into it.
+     * A failed save must leave the previous snapshot readable.
+     *
+     * @param tasks The tasks to save, in display order.
+     * @param generation The generation of the new snapshot.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    void save(List<Task> tasks, long generation) throws IOException;
+
+    /**
+     * Returns the generation written into the current snapshot when it was saved. Unlike the version, it
+     * only changes when a snapshot is saved, not when the file is copied, restored or touched, so it tells
+     * which snapshot a journal was written against.
+     *
+     * @return The generation of the current snapshot, or 0 if there is none or it was saved without one.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    default long getGeneration() throws IOException {
+        return 0;
+    }
+
+    /**
+     * Removes the snapshot, for when the tasks are moved to another store.
+     *
+     * @throws IOException If the snapshot cannot be removed.
+     */
+    void delete() throws IOException;
+
+    /**
+     * Returns a token that changes whenever the snapshot is rewritten, whether by this process or another,
+     * such as the modification time and size of the file. Returns null if the store has no snapshot or
+     * cannot be changed from outside the process.
+     *
+     * @return The version of the current snapshot, or null.
+     */
+    default String getVersion() {
+        return null;
+    }
+
+    /**
+     * Returns whether saved snapshots outlive the process. Changes are only journaled for durable stores.
+     *
+     * @return True if snapshots are kept on disk.
+     */
+    default boolean isDurable() {
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+package nicholas.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Opens the {@link TaskStore} that a configuration asks for.
+ */
+public class TaskStores {
+    private static final String SHARDS_SUFFIX = ".shards";
+
+    /**
+     * Returns the store new snapshots of the given task file should be saved to.
+     * In {@link StorageBackend#AUTO}, an existing file keeps its format, a new file is stored as text,
+     * and a shard scheme in the configuration selects a {@link ShardedTaskStore} next to the file.
+     *
+     * @param filePath The path of the task file.
+     * @param config The configuration naming the backend.
+     * @return The store to save snapshots to.
+     */
+    public static TaskStore forSaving(String filePath, StorageConfig config) {
+        Path path = Paths.get(filePath);
+        switch (config.getBackend()) {
+        case MEMORY:
+            return new InMemoryTaskStore(filePath);
+        case TEXT:
+            return new TextTaskStore(path, config.getLoadMode());
+        case GZIP:
+            return new CompressedTaskStore(path);
+        case BINARY:
+            return new BinaryTaskStore(path);
+        case BINARY_SINGLE_READ:
+            return new SingleReadBinaryTaskStore(path);
+        case AUTO:
+            if (config.getShardScheme() != ShardScheme.NONE) {
+                return new ShardedTaskStore(Paths.get(filePath + SHARDS_SUFFIX), config);
+            }
+            return detect(path, config);
+        default:
+            throw new IllegalStateException("Unsupported storage backend: " + config.getBackend());
+        }
+    }
+
+    /**
+     * Returns the store the current snapshot of the given task file should be loaded from.
+     * This is the store snapshots are saved to, unless that store is empty and the snapshot is still
+     * in its unsharded or sharded form from before sharding was switched on or off.
+     *
+     * @param filePath The path of the task file.
+     * @param config The configuration naming the backend.
+     * @param savingStore The store returned by {@link #forSaving(String, StorageConfig)}.
+     * @return The store to load the snapshot from.
+     */
+    public static TaskStore forLoading(String filePath, StorageConfig config, TaskStore savingStore) {
+        if (!savingStore.isDurable() || savingStore.exists()) {
+            return savingStore;
+        }
+        if (savingStore instanceof ShardedTaskStore) {
+            TaskStore unsharded = detect(Paths.get(filePath), config);
+            return unsharded.exists() ? unsharded : savingStore;
+        }
+        ShardedTaskStore sharded = new ShardedTaskStore(Paths.get(filePath + SHARDS_SUFFIX), config);
+        return sharded.exists() ? sharded : savingStore;
+    }
+
+    /**
+     * Returns the modification time and size of the given file as a version token for {@link TaskStore#getVersion()},
+     * or null if the file does not exist.
+     *
+     * @param path The file to inspect.
+     * @return The version of the file, or null.
+     */
+    static String fileVersion(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return attributes.lastModifiedTime().toMillis() + ":" + attributes.size();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static TaskStore detect(Path path, StorageConfig config) {
+        StorageFormat format;
+        try {
+            format = StorageFormat.detect(path, StorageFormat.TEXT);
+        } catch (IOException e) {
+            format = StorageFormat.TEXT;
+        }
+        switch (format) {
+        case BINARY:
+            return new BinaryTaskStore(path);
+        case GZIP:
+            return new CompressedTaskStore(path);
+        default:
+            return new TextTaskStore(path, config.getLoadMode());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package nicholas.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import nicholas.tasks.Task;
+import nicholas.ui.Parser;
+import nicholas.ui.TaskRecordParser;
+
+/**
+ * Stores the task snapshot as a text file with one task per line, in the format shown to the user.
+ * Large files are parsed in parallel, or left unparsed until each task is read, see {@link LoadMode}.
+ * <p>
+ * The first line holds the generation of the snapshot, such as {@code GENERATION 12}. No task record
+ * starts that way, so every reader skips it wherever it finds it, and files without it have generation 0.
+ * </p>
+ */
+public class TextTaskStore implements TaskStore {
+    /** Starts the line that holds the generation of a text snapshot. */
+    static final String GENERATION_PREFIX = "GENERATION ";
+    private static final int MAX_GENERATION_LINE_BYTES = 32;
+
+    private final Path path;
+    private final LoadMode loadMode;
+
+    /**
+     * Constructs a TextTaskStore backed by the given file.
+     *
+     * @param path The text task file.
+     * @param loadMode How the file is parsed when it is loaded.
+     */
+    public TextTaskStore(Path path, LoadMode loadMode) {
+        this.path = path;
+        this.loadMode = loadMode;
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    @Override
+    public List<Task> load() throws IOException {
+        if (loadMode == LoadMode.LAZY) {
+            LazyRecordList lazyTasks = LazyRecordList.open(path);
+            if (lazyTasks != null) {
+                return lazyTasks;
+            }
+        }
+        List<Task> tasks = new ArrayList<>();
+        if (isParallelLoad()) {
+            new ParallelTaskLoader().load(path, tasks::add);
+        } else {
+            Parser parser = new Parser();
+            TaskFileReader.forEachLine(path, line -> {
+                if (!isGenerationLine(line)) {
+                    tasks.add(parser.parseTask(line));
+                }
+            });
+        }
+        return tasks;
+    }
+
+    @Override
+    public long getGeneration() throws IOException {
+        if (!exists()) {
+            return 0;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            return readGeneration(in);
+        }
+    }
+
+    /**
+     * Returns whether a line of a text snapshot is its generation line rather than a task record.
+     *
+     * @param line The line.
+     * @return True if the line holds the generation.
+     */
+    static boolean isGenerationLine(String line) {
+        return line.startsWith(GENERATION_PREFIX);
+    }
+
+    /**
+     * Reads the generation from the start of a text snapshot.
+     *
+     * @param in The snapshot, positioned at its start.
+     * @return The generation, or 0 if the snapshot does not start with a generation line.
+     * @throws IOException If the snapshot cannot be read or its generation line is malformed.
+     */
+    static long readGeneration(InputStream in) throws IOException {
+        String head = new String(in.readNBytes(MAX_GENERATION_LINE_BYTES), StandardCharsets.ISO_8859_1);
+        if (!isGenerationLine(head)) {
+            return 0;
+        }
+        int end = head.indexOf('\n');
+        try {
+            return Long.parseLong(head.substring(GENERATION_PREFIX.length(), end < 0 ? head.length() : end).trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid generation line in task file: " + head.trim(), e);
+        }
+    }
+
+    /**
+     * Writes the generation line that starts a text snapshot.
+     *
+     * @param writer The writer of the snapshot, positioned at its start.
+     * @param generation The generation of the snapshot.
+     * @throws IOException If the line cannot be written.
+     */
+    static void writeGeneration(Writer writer, long generation) throws IOException {
+        writer.write(GENERATION_PREFIX + generation + "\n");
+    }
+
+    private boolean isParallelLoad() throws IOException {
+        if (loadMode == LoadMode.AUTO) {
+            return Files.size(path) >= ParallelTaskLoader.PARALLEL_THRESHOLD_BYTES;
+        }
+        return loadMode == LoadMode.PARALLEL;
+    }
+
+    /**
+     * Writes the tasks to a temporary file first and then moves it over the old one,
+     * so a crash mid-write never leaves a half-written task file behind.
+     * Tasks of a {@link LazyRecordList} that were never read are copied over as their original lines.
+     */
+    @Override
+    public void save(List<Task> tasks, long generation) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            writeGeneration(writer, generation);
+            if (tasks instanceof LazyRecordList) {
+                LazyRecordList lazyTasks = (LazyRecordList) tasks;
+                for (int i = 0; i < lazyTasks.size(); i++) {
+                    writer.write(lazyTasks.getRecord(i));
+                    writer.write("\n");
+                }
+            } else {
+                for (Task task : tasks) {
+                    writer.write(TaskRecordParser.format(task));
+                    writer.write("\n");
+                }
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public String getVersion() {
+        return TaskStores.fileVersion(path);
+    }
+}
@@ -1,12 +1,14 @@
 package nicholas.tasks;
 
-import nicholas.ui.Parser;
+import java.time.LocalDateTime;
 
 /**
  * Represents a Deadline task.
  */
 public class Deadline extends Task {
-    private String by;
+    private final LocalDateTime by;
+    private final long byMinute;
+    private String byText;
 
     /**
      * Constructs a Deadline task with a description, due date, and priority.
@@ -15,9 +17,32 @@ public class Deadline extends Task {
      * @param by The due date.
      */
     public Deadline(String description, String by) {
+        this(description, TaskDates.parse(by));
+    }
+
+    /**
+     * Constructs a Deadline task from an already parsed due date.
+     *
+     * @param description The description of the deadline task.
+     * @param by The due date.
+     */
+    public Deadline(String description, LocalDateTime by) {
         super(description);
-        Parser parser = new Parser();
-        this.by = parser.parseDate(by);
+        this.by = by;
+        this.byMinute = TaskDates.toEpochMinute(by);
+    }
+
+    public LocalDateTime getBy() {
+        return by;
+    }
+
+    /**
+     * Returns the due date as an epoch minute, for comparing due dates without going through {@link LocalDateTime}.
+     *
+     * @return The epoch minute of the due date.
+     */
+    public long getByMinute() {
+        return byMinute;
     }
 
     @Override
@@ -27,6 +52,9 @@ public class Deadline extends Task {
 
     @Override
     public String toString() {
-        return super.toString() + " (by: " + by + ")";
+        if (byText == null) {
+            byText = TaskDates.format(by);
+        }
+        return super.toString() + " (by: " + byText + ")";
     }
 }
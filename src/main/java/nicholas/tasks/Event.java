@@ -1,13 +1,16 @@
 package nicholas.tasks;
 
-import nicholas.ui.Parser;
+import java.time.LocalDateTime;
 
 /**
  * Represents an Event task.
  */
 public class Event extends Task {
-    private String from;
-    private String to;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final long fromMinute;
+    private final long toMinute;
+    private String periodText;
 
     /**
      * Constructs an Event task with a description, start time, end time, and priority.
@@ -17,10 +20,48 @@ public class Event extends Task {
      * @param to The end time.
      */
     public Event(String description, String from, String to) {
+        this(description, TaskDates.parse(from), TaskDates.parse(to));
+    }
+
+    /**
+     * Constructs an Event task from already parsed start and end times.
+     *
+     * @param description The description of the event.
+     * @param from The start time.
+     * @param to The end time.
+     */
+    public Event(String description, LocalDateTime from, LocalDateTime to) {
         super(description);
-        Parser parser = new Parser();
-        this.from = parser.parseDate(from);
-        this.to = parser.parseDate(to);
+        this.from = from;
+        this.to = to;
+        this.fromMinute = TaskDates.toEpochMinute(from);
+        this.toMinute = TaskDates.toEpochMinute(to);
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /**
+     * Returns the start time as an epoch minute, for comparing times without going through {@link LocalDateTime}.
+     *
+     * @return The epoch minute of the start time.
+     */
+    public long getFromMinute() {
+        return fromMinute;
+    }
+
+    /**
+     * Returns the end time as an epoch minute, for comparing times without going through {@link LocalDateTime}.
+     *
+     * @return The epoch minute of the end time.
+     */
+    public long getToMinute() {
+        return toMinute;
     }
 
     @Override
@@ -30,6 +71,9 @@ public class Event extends Task {
 
     @Override
     public String toString() {
-        return super.toString() + " (from: " + from + " to: " + to + ")";
+        if (periodText == null) {
+            periodText = " (from: " + TaskDates.format(from) + " to: " + TaskDates.format(to) + ")";
+        }
+        return super.toString() + periodText;
     }
 }
@@ -0,0 +1,193 @@
+package nicholas.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Holds events as time intervals in a balanced search tree, so the events overlapping a period are found
+ * without comparing every pair of events.
+ * <p>
+ * The tree is a treap ordered by start minute, with the events starting at the same minute sharing a node.
+ * Each node also keeps the latest end minute in its subtree, so a search skips every subtree that ends
+ * before the period starts, and stops at the first node that starts after it. Finding the {@code k} events
+ * overlapping a period costs {@code O(log n + k)} on average.
+ * </p>
+ * <p>
+ * An event covers the minutes from its start up to, but not including, its end, so an event ending at the
+ * minute another starts does not overlap it. An event that ends before it starts is treated as ending at
+ * its start.
+ * </p>
+ */
+class EventIntervalTree {
+    private final Random random;
+    private Node root;
+
+    /**
+     * Constructs an empty EventIntervalTree.
+     */
+    EventIntervalTree() {
+        // A fixed seed keeps the shape of the tree, and so its performance, the same from run to run.
+        this.random = new Random(0);
+    }
+
+    /**
+     * Adds an event to the tree.
+     *
+     * @param event The event to add.
+     */
+    void add(Event event) {
+        root = insert(root, event);
+    }
+
+    /**
+     * Removes an event from the tree, if it is there.
+     *
+     * @param event The event to remove.
+     */
+    void remove(Event event) {
+        root = delete(root, event);
+    }
+
+    /**
+     * Returns the events that overlap a period, in order of their start.
+     *
+     * @param fromMinute The first epoch minute of the period.
+     * @param toMinute The epoch minute just after the period.
+     * @return The overlapping events.
+     */
+    List<Event> findOverlapping(long fromMinute, long toMinute) {
+        List<Event> events = new ArrayList<>();
+        collect(root, fromMinute, toMinute, events);
+        return events;
+    }
+
+    private static long endOf(Event event) {
+        return Math.max(event.getFromMinute(), event.getToMinute());
+    }
+
+    private Node insert(Node node, Event event) {
+        if (node == null) {
+            return new Node(event, random.nextInt());
+        }
+        if (event.getFromMinute() == node.start) {
+            node.events.add(event);
+        } else if (event.getFromMinute() < node.start) {
+            node.left = insert(node.left, event);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, event);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, Event event) {
+        if (node == null) {
+            return null;
+        }
+        if (event.getFromMinute() < node.start) {
+            node.left = delete(node.left, event);
+        } else if (event.getFromMinute() > node.start) {
+            node.right = delete(node.right, event);
+        } else {
+            node.events.removeIf(nodeEvent -> nodeEvent == event);
+            if (node.events.isEmpty()) {
+                return merge(node.left, node.right);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every start in the first is before every start in the second.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        return right;
+    }
+
+    private static void collect(Node node, long fromMinute, long toMinute, List<Event> events) {
+        if (node == null || node.maxEnd <= fromMinute) {
+            return;
+        }
+        collect(node.left, fromMinute, toMinute, events);
+        if (node.start >= toMinute) {
+            return;
+        }
+        for (Event event : node.events) {
+            if (endOf(event) > fromMinute) {
+                events.add(event);
+            }
+        }
+        collect(node.right, fromMinute, toMinute, events);
+    }
+
+    /**
+     * Holds the events starting at one minute, with the latest end minute in the subtree below.
+     */
+    private static class Node {
+        private final long start;
+        private final int priority;
+        private final List<Event> events;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(Event event, int priority) {
+            this.start = event.getFromMinute();
+            this.priority = priority;
+            this.events = new ArrayList<>(1);
+            this.events.add(event);
+            update();
+        }
+
+        void update() {
+            long end = start;
+            for (Event event : events) {
+                end = Math.max(end, endOf(event));
+            }
+            if (left != null) {
+                end = Math.max(end, left.maxEnd);
+            }
+            if (right != null) {
+                end = Math.max(end, right.maxEnd);
+            }
+            maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package nicholas.tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Maps the words in task descriptions to the tasks that contain them, so keyword searches do not scan
+ * every description.
+ * <p>
+ * Each word keeps a sorted posting list of the ids of the tasks containing it. Task ids increase along the
+ * list and a replaced task keeps its id, so sorting by id is the same as sorting by position in the list,
+ * and a deleted task leaves nothing behind. Words are runs of letters and digits, compared without case.
+ * The words are kept in a sorted map so a search term matches every word it is a prefix of.
+ * </p>
+ */
+class KeywordIndex {
+    /** Terms matching more words than this are listed in full rather than probed for each candidate. */
+    private static final int MAX_WORDS_TO_PROBE = 16;
+
+    private final TreeMap<String, Postings> postingsByWord;
+
+    /**
+     * Constructs a KeywordIndex over the given tasks, whose ids must already increase along the list.
+     *
+     * @param tasks The tasks to index.
+     */
+    KeywordIndex(List<Task> tasks) {
+        this.postingsByWord = new TreeMap<>();
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Indexes a task under its id.
+     *
+     * @param task The new task.
+     */
+    void add(Task task) {
+        long id = task.getId();
+        for (String word : words(task.getDescription())) {
+            postingsByWord.computeIfAbsent(word, key -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The removed task.
+     */
+    void remove(Task task) {
+        long id = task.getId();
+        for (String word : words(task.getDescription())) {
+            Postings postings = postingsByWord.get(word);
+            if (postings == null) {
+                continue;
+            }
+            postings.remove(id);
+            if (postings.size == 0) {
+                postingsByWord.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Puts a task in place of another, which it takes the id of.
+     *
+     * @param oldTask The task that was replaced.
+     * @param newTask The task that took its place.
+     */
+    void replace(Task oldTask, Task newTask) {
+        remove(oldTask);
+        add(newTask);
+    }
+
+    /**
+     * Returns the ids of the tasks matching a query, in list order. Each alternative of a query separated
+     * by {@code |} is a set of search terms that must all match; a term matches a task with a word that
+     * starts with it.
+     *
+     * @param query The query, such as {@code book pen | homework}.
+     * @return The ids of the matching tasks, or null if the query has no words to search for.
+     */
+    long[] find(String query) {
+        long[] matches = null;
+        for (String alternative : query.split("\\|")) {
+            long[] alternativeMatches = findAll(words(alternative));
+            if (alternativeMatches != null) {
+                matches = matches == null ? alternativeMatches : union(matches, alternativeMatches);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the ids of the tasks matching every term, or null if there are no terms. Only the term with
+     * the fewest matches is listed in full; the other terms are checked against its matches one by one,
+     * so the cost follows the rarest term rather than the most common one.
+     */
+    private long[] findAll(Set<String> terms) {
+        List<Collection<Postings>> termPostings = new ArrayList<>();
+        for (String term : terms) {
+            termPostings.add(postingsByWord.subMap(term, true, term + Character.MAX_VALUE, false).values());
+        }
+        if (termPostings.isEmpty()) {
+            return null;
+        }
+        termPostings.sort(Comparator.comparingLong(KeywordIndex::countIds));
+        long[] candidates = toIds(termPostings.get(0));
+        for (Collection<Postings> postings : termPostings.subList(1, termPostings.size())) {
+            if (candidates.length == 0) {
+                break;
+            }
+            candidates = postings.size() > MAX_WORDS_TO_PROBE ? intersect(candidates, toIds(postings))
+                    : retainContained(candidates, postings);
+        }
+        return candidates;
+    }
+
+    private static long countIds(Collection<Postings> postings) {
+        long count = 0;
+        for (Postings wordPostings : postings) {
+            count += wordPostings.size;
+        }
+        return count;
+    }
+
+    private static long[] toIds(Collection<Postings> postings) {
+        long[] ids = new long[0];
+        for (Postings wordPostings : postings) {
+            ids = ids.length == 0 ? wordPostings.toArray() : union(ids, wordPostings.toArray());
+        }
+        return ids;
+    }
+
+    private static long[] retainContained(long[] candidates, Collection<Postings> postings) {
+        long[] result = new long[candidates.length];
+        int count = 0;
+        for (long id : candidates) {
+            for (Postings wordPostings : postings) {
+                if (wordPostings.contains(id)) {
+                    result[count++] = id;
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Splits text into its distinct lowercase words.
+     */
+    static Set<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordCharacter && start < 0) {
+                start = i;
+            } else if (!isWordCharacter && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static long[] union(long[] first, long[] second) {
+        long[] result = new long[first.length + second.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length || j < second.length) {
+            if (j == second.length || (i < first.length && first[i] < second[j])) {
+                result[count++] = first[i++];
+            } else if (i == first.length || first[i] > second[j]) {
+                result[count++] = second[j++];
+            } else {
+                result[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Holds the ids of the tasks containing one word, in ascending order.
+     */
+    private static class Postings {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            int position = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0 && position < size) {
+                return;
+            }
+            position = position < 0 ? -position - 1 : position;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
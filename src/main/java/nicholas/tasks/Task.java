@@ -3,8 +3,13 @@ package nicholas.tasks;
 /**
  * Represents a task that can be marked as done or not done.
  * This is an abstract class that serves as a base for different types of tasks.
+ * <p>
+ * Each task in a {@link TaskList} has a numeric id that stays the same while other tasks are added and
+ * deleted, and is saved with the task. A task that has not been given an id yet has the id 0.
+ * </p>
  */
 public abstract class Task {
+    private long id;
     private String description;
     private boolean isDone;
     private Priority priority; // Added priority field
@@ -30,6 +35,34 @@ public abstract class Task {
         return this.isDone ? "X" : " ";
     }
 
+    /**
+     * Returns whether the task is done.
+     *
+     * @return True if the task is marked as done.
+     */
+    public boolean isDone() {
+        return this.isDone;
+    }
+
+    /**
+     * Returns the id of the task.
+     *
+     * @return The id, or 0 if the task has not been given one yet.
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Sets the id of the task, such as the id read back from the task file.
+     *
+     * @param id The id, which should be positive.
+     */
+    public void setId(long id) {
+        assert id >= 0 : "Task id should not be negative";
+        this.id = id;
+    }
+
     /**
      * Returns the description of the task.
      *
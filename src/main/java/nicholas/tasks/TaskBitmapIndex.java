@@ -0,0 +1,125 @@
+package nicholas.tasks;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a bitmap of task positions for each status, priority and task type, so filters over those
+ * attributes are answered by intersecting bitmaps instead of reading every task.
+ * <p>
+ * Bit {@code i} of a bitmap is set when the task at position {@code i} in the list has that attribute.
+ * Each bitmap takes one bit per task, so a list of 100,000 tasks needs about 12 KB per bitmap.
+ * Deleting a task shifts the bits above it down by one, a word at a time.
+ * </p>
+ */
+class TaskBitmapIndex {
+    private BitSet done;
+    private final BitSet[] byPriority;
+    private final Map<String, BitSet> byType;
+    private int size;
+
+    /**
+     * Constructs a TaskBitmapIndex over the given tasks.
+     *
+     * @param tasks The tasks to index, in list order.
+     */
+    TaskBitmapIndex(List<Task> tasks) {
+        this.done = new BitSet(tasks.size());
+        this.byPriority = new BitSet[Priority.values().length];
+        for (int i = 0; i < byPriority.length; i++) {
+            byPriority[i] = new BitSet(tasks.size());
+        }
+        this.byType = new HashMap<>();
+        this.size = 0;
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Indexes a task appended to the end of the list.
+     *
+     * @param task The new task.
+     */
+    void add(Task task) {
+        update(size++, task);
+    }
+
+    /**
+     * Re-reads the attributes of the task at a position, after it changed or was replaced.
+     *
+     * @param position The position of the task.
+     * @param task The task now at that position.
+     */
+    void update(int position, Task task) {
+        done.set(position, task.isDone());
+        for (BitSet priorityBits : byPriority) {
+            priorityBits.clear(position);
+        }
+        byPriority[task.getPriority().ordinal()].set(position);
+        for (BitSet typeBits : byType.values()) {
+            typeBits.clear(position);
+        }
+        byType.computeIfAbsent(task.getTaskType(), type -> new BitSet(size)).set(position);
+    }
+
+    /**
+     * Removes the task at a position, moving the tasks after it down by one.
+     *
+     * @param position The position of the removed task.
+     */
+    void remove(int position) {
+        done = withoutBit(done, position);
+        for (int i = 0; i < byPriority.length; i++) {
+            byPriority[i] = withoutBit(byPriority[i], position);
+        }
+        byType.replaceAll((type, typeBits) -> withoutBit(typeBits, position));
+        size--;
+    }
+
+    /**
+     * Returns the positions of the tasks matching a filter.
+     *
+     * @param filter The filter to match.
+     * @return The zero-based positions of the matching tasks.
+     */
+    BitSet select(TaskFilter filter) {
+        BitSet positions = new BitSet(size);
+        positions.set(0, size);
+        if (filter.getDone() != null) {
+            if (filter.getDone()) {
+                positions.and(done);
+            } else {
+                positions.andNot(done);
+            }
+        }
+        if (filter.getPriority() != null) {
+            positions.and(byPriority[filter.getPriority().ordinal()]);
+        }
+        if (filter.getTaskType() != null) {
+            positions.and(byType.getOrDefault(filter.getTaskType(), new BitSet()));
+        }
+        return positions;
+    }
+
+    /**
+     * Returns a copy of the bitmap with the given bit removed and every bit above it moved down by one.
+     */
+    private static BitSet withoutBit(BitSet bits, int position) {
+        long[] words = bits.toLongArray();
+        int wordIndex = position >>> 6;
+        if (wordIndex >= words.length) {
+            return bits;
+        }
+        long lowerBits = (1L << position) - 1;
+        long word = words[wordIndex];
+        words[wordIndex] = (word & lowerBits) | ((word >>> 1) & ~lowerBits);
+        for (int i = wordIndex + 1; i < words.length; i++) {
+            words[i - 1] |= words[i] << 63;
+            words[i] >>>= 1;
+        }
+        return BitSet.valueOf(words);
+    }
+}
@@ -0,0 +1,42 @@
+package nicholas.tasks;
+
+/**
+ * Represents a single change made to a {@code TaskList} that has not been persisted yet.
+ */
+public class TaskChange {
+    /**
+     * Represents the kinds of change a task list can go through.
+     */
+    public enum Type {
+        ADDED, UPDATED, REMOVED
+    }
+
+    private final Type type;
+    private final int index;
+    private final Task task;
+
+    /**
+     * Constructs a TaskChange.
+     *
+     * @param type The kind of change.
+     * @param index The position of the task in the list when the change was made.
+     * @param task The task that was added, updated or removed.
+     */
+    public TaskChange(Type type, int index, Task task) {
+        this.type = type;
+        this.index = index;
+        this.task = task;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+}
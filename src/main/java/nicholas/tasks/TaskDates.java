@@ -0,0 +1,70 @@
+package nicholas.tasks;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Holds the date formats used for task dates, shared by every task since formatters are immutable.
+ * <p>
+ * Dates are typed by the user as {@code yyyy-MM-dd HHmm} and shown and stored as {@code MMM dd yyyy HHmm}.
+ * For sorting and filtering, a date can also be reduced to the minute it falls on, counted from the epoch,
+ * which is compared as a plain {@code long}.
+ * </p>
+ */
+public final class TaskDates {
+    /** The format dates are typed in, such as {@code 2026-10-12 1000}. */
+    public static final DateTimeFormatter INPUT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    /** The format dates are shown and stored in, such as {@code Oct 12 2026 1000}. */
+    public static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy HHmm");
+
+    private TaskDates() {
+    }
+
+    /**
+     * Parses a date typed by the user.
+     *
+     * @param input The date string in "yyyy-MM-dd HHmm" format.
+     * @return The parsed date and time.
+     * @throws IllegalArgumentException If the date format is invalid.
+     */
+    public static LocalDateTime parse(String input) {
+        assert input != null && !input.isEmpty() : "Date string should not be null or empty";
+        try {
+            return LocalDateTime.parse(input, INPUT_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format. Expected: yyyy-MM-dd HHmm", e);
+        }
+    }
+
+    /**
+     * Formats a date and time for display.
+     *
+     * @param dateTime The date and time to format.
+     * @return The formatted date string in "MMM dd yyyy HHmm" format.
+     */
+    public static String format(LocalDateTime dateTime) {
+        return dateTime.format(DISPLAY_FORMAT);
+    }
+
+    /**
+     * Returns the number of whole minutes between the epoch and the given date and time, ignoring time zones.
+     *
+     * @param dateTime The date and time.
+     * @return The epoch minute the date and time falls on.
+     */
+    public static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Returns the date and time at the start of an epoch minute, the reverse of {@link #toEpochMinute}.
+     *
+     * @param epochMinute The number of minutes since the epoch.
+     * @return The date and time.
+     */
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
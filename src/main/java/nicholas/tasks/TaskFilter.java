@@ -0,0 +1,125 @@
+package nicholas.tasks;
+
+import java.util.Objects;
+
+/**
+ * Describes which tasks to select by status, priority and task type. A task must match every part that
+ * is set; a filter with no parts set matches every task.
+ * <p>
+ * Filters are immutable. Each {@code with} method returns a new filter with one more part set.
+ * </p>
+ */
+public class TaskFilter {
+    /** The filter that matches every task. */
+    public static final TaskFilter ALL = new TaskFilter(null, null, null);
+
+    private final Boolean isDone;
+    private final Priority priority;
+    private final String taskType;
+
+    private TaskFilter(Boolean isDone, Priority priority, String taskType) {
+        this.isDone = isDone;
+        this.priority = priority;
+        this.taskType = taskType;
+    }
+
+    /**
+     * Returns a filter that also requires the task to be done or not done.
+     *
+     * @param isDone Whether matching tasks are done.
+     * @return The new filter.
+     * @throws IllegalArgumentException If this filter already requires the opposite status.
+     */
+    public TaskFilter withDone(boolean isDone) {
+        checkNotConflicting("done", this.isDone, isDone);
+        return new TaskFilter(isDone, priority, taskType);
+    }
+
+    /**
+     * Returns a filter that also requires the task to have the given priority.
+     *
+     * @param priority The priority of matching tasks.
+     * @return The new filter.
+     * @throws IllegalArgumentException If this filter already requires another priority.
+     */
+    public TaskFilter withPriority(Priority priority) {
+        checkNotConflicting("priority", this.priority, priority);
+        return new TaskFilter(isDone, priority, taskType);
+    }
+
+    /**
+     * Returns a filter that also requires the task to be of the given type.
+     *
+     * @param taskType The type of matching tasks, {@code T}, {@code D} or {@code E}.
+     * @return The new filter.
+     * @throws IllegalArgumentException If this filter already requires another type.
+     */
+    public TaskFilter withTaskType(String taskType) {
+        checkNotConflicting("type", this.taskType, taskType);
+        return new TaskFilter(isDone, priority, taskType);
+    }
+
+    /**
+     * Returns the status matching tasks must have.
+     *
+     * @return True or false, or null if any status matches.
+     */
+    public Boolean getDone() {
+        return isDone;
+    }
+
+    /**
+     * Returns the priority matching tasks must have.
+     *
+     * @return The priority, or null if any priority matches.
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Returns the type matching tasks must be of.
+     *
+     * @return The task type, or null if any type matches.
+     */
+    public String getTaskType() {
+        return taskType;
+    }
+
+    /**
+     * Returns whether a task matches every part of the filter.
+     *
+     * @param task The task to check.
+     * @return True if the task matches.
+     */
+    public boolean matches(Task task) {
+        return (isDone == null || task.isDone() == isDone)
+                && (priority == null || task.getPriority() == priority)
+                && (taskType == null || task.getTaskType().equals(taskType));
+    }
+
+    /**
+     * Returns the filter in the form the list and count commands accept, such as {@code done:false type:D}.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        if (isDone != null) {
+            text.append(" done:").append(isDone);
+        }
+        if (priority != null) {
+            text.append(" priority:").append(priority);
+        }
+        if (taskType != null) {
+            text.append(" type:").append(taskType);
+        }
+        return text.toString().trim();
+    }
+
+    private static void checkNotConflicting(String key, Object current, Object requested) {
+        if (current != null && !Objects.equals(current, requested)) {
+            throw new IllegalArgumentException("Conflicting filters: " + key + ":" + current + " and "
+                    + key + ":" + requested);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package nicholas.tasks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps task ids to tasks, so a task is found by its id in constant time wherever it is in the list.
+ * <p>
+ * The index only holds references to the tasks, so it stays correct when tasks before a task are deleted
+ * and its position changes. Each entry costs a boxed id and a hash table slot.
+ * </p>
+ */
+class TaskIdIndex {
+    private final Map<Long, Task> tasksById;
+
+    /**
+     * Constructs a TaskIdIndex over the given tasks.
+     *
+     * @param tasks The tasks to index.
+     */
+    TaskIdIndex(List<Task> tasks) {
+        this.tasksById = new HashMap<>(Math.max(16, tasks.size() * 4 / 3 + 1));
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Indexes a task under its id.
+     *
+     * @param task The new task.
+     */
+    void add(Task task) {
+        tasksById.put(task.getId(), task);
+    }
+
+    /**
+     * Removes a task from the index, if it is the task indexed under its id.
+     *
+     * @param task The removed task.
+     */
+    void remove(Task task) {
+        tasksById.remove(task.getId(), task);
+    }
+
+    /**
+     * Returns the task with the given id.
+     *
+     * @param id The id to look up.
+     * @return The task, or null if no task has that id.
+     */
+    Task get(long id) {
+        return tasksById.get(id);
+    }
+}
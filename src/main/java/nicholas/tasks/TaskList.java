@@ -1,29 +1,161 @@
 package nicholas.tasks;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * Represents a list of tasks.
  * This class provides methods to add, remove, and update tasks.
+ * <p>
+ * Every change made through these methods bumps a modification count and is recorded as a
+ * {@link TaskChange}, so persistence can skip writing when nothing changed and write only the
+ * changes when something did. Changes are also passed to any {@link TaskListListener}s as they happen.
+ * </p>
+ * <p>
+ * Keyword searches go through a {@link KeywordIndex}, which is built on the first search and then kept up
+ * to date as tasks are added, replaced and removed. It lists matches by task id, which are looked up in the
+ * {@link TaskIdIndex}.
+ * </p>
+ * <p>
+ * Filters on status, priority and task type go through a {@link TaskBitmapIndex} in the same way. It is built
+ * on the first filter and then kept up to date by every method here that adds, changes or removes a task.
+ * Queries over due and start times, event conflicts and free time go through a {@link TaskTimeIndex}, built
+ * on the first such query.
+ * </p>
+ * <p>
+ * Every task has an id that stays the same while tasks before it are added and removed, and ids increase
+ * along the list. An id is never given out again, even after its task is deleted. A task is found by its id
+ * through a {@link TaskIdIndex} in constant time, and its current position by a binary search over the ids.
+ * </p>
+ * <p>
+ * The tasks themselves stay in a plain list rather than an ordered tree, so deleting a task still moves the
+ * tasks after it along by one. That is a single array copy, and every scan and every position lookup stays
+ * as fast as a list makes it; callers that must not be affected by the move name tasks by id.
+ * </p>
  */
 public class TaskList {
     private List<Task> tasks;
+    private List<TaskChange> pendingChanges;
+    private long modificationCount;
+    private List<TaskListListener> listeners;
+    private KeywordIndex keywordIndex;
+    private TaskBitmapIndex bitmapIndex;
+    private TaskTimeIndex timeIndex;
+    private TaskIdIndex idIndex;
+    private long lastId;
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
-     * Adds a task to the task list.
+     * Constructs a TaskList holding the given tasks, such as tasks just loaded from storage.
+     * The tasks are not recorded as changes. Tasks without ids, or whose ids are out of order, are given
+     * new ids as {@link #assignIds(List)} describes.
+     *
+     * @param tasks The initial tasks.
+     */
+    public TaskList(List<Task> tasks) {
+        this.tasks = new ArrayList<>(tasks);
+        this.pendingChanges = new ArrayList<>();
+        this.modificationCount = 0;
+        this.listeners = new ArrayList<>();
+        this.lastId = assignIds(this.tasks);
+    }
+
+    /**
+     * Returns a TaskList that works on the given list directly instead of copying it, such as a list
+     * from storage whose tasks are only built when they are read. The list must support adding,
+     * replacing and removing tasks, and must not be changed other than through the returned TaskList.
+     * The tasks are not recorded as changes, and their ids must already increase along the list.
+     *
+     * @param tasks The list to work on.
+     * @return A TaskList backed by the given list.
+     */
+    public static TaskList wrap(List<Task> tasks) {
+        TaskList taskList = new TaskList();
+        taskList.tasks = tasks;
+        // The last id is read when the first task is added, so wrapping does not build the last task.
+        taskList.lastId = -1;
+        return taskList;
+    }
+
+    /**
+     * Gives ids to tasks that have none, such as tasks read from a file saved before tasks had ids, so
+     * that ids increase along the list. Each task whose id is not greater than the id before it gets the
+     * next id after that one; other tasks keep theirs, so loading the same file always gives the same ids.
+     *
+     * @param tasks The tasks, in list order.
+     * @return The id of the last task, or 0 if there are none.
+     */
+    public static long assignIds(List<Task> tasks) {
+        long lastId = 0;
+        for (Task task : tasks) {
+            if (task.getId() <= lastId) {
+                task.setId(lastId + 1);
+            }
+            lastId = task.getId();
+        }
+        return lastId;
+    }
+
+    /**
+     * Returns the highest id given out so far, including the ids of tasks that have since been deleted.
+     *
+     * @return The highest id, or 0 if no task has had one.
+     */
+    public long getLastId() {
+        if (lastId < 0) {
+            lastId = tasks.isEmpty() ? 0 : tasks.get(tasks.size() - 1).getId();
+        }
+        return lastId;
+    }
+
+    /**
+     * Makes sure no task added from now on gets an id up to the given one, such as the id of a task
+     * deleted in an earlier session.
+     *
+     * @param id The highest id that must not be given out again.
+     */
+    public void reserveIds(long id) {
+        lastId = Math.max(getLastId(), id);
+    }
+
+    /**
+     * Adds a task to the task list, giving it the next id if it has none or its id is already taken.
      *
      * @param task The task to be added.
      */
     public void addTask(Task task) {
+        if (lastId >= 0 && task.getId() <= lastId) {
+            task.setId(lastId + 1);
+        }
         tasks.add(task);
+        if (task.getId() == 0) {
+            // A wrapped list whose last id is not known yet, and which did not give the task an id itself.
+            int size = tasks.size();
+            task.setId(size > 1 ? tasks.get(size - 2).getId() + 1 : 1);
+        }
+        lastId = task.getId();
+        if (idIndex != null) {
+            idIndex.add(task);
+        }
+        if (keywordIndex != null) {
+            keywordIndex.add(task);
+        }
+        if (bitmapIndex != null) {
+            bitmapIndex.add(task);
+        }
+        if (timeIndex != null) {
+            timeIndex.add(task);
+        }
+        recordChange(TaskChange.Type.ADDED, tasks.size() - 1, task);
     }
 
     /**
@@ -33,8 +165,96 @@ public class TaskList {
      */
     public void deleteTask(int taskIndex) {
         if (taskIndex >= 0 && taskIndex < tasks.size()) {
-            tasks.remove(taskIndex);
+            Task removedTask = tasks.remove(taskIndex);
+            if (idIndex != null) {
+                idIndex.remove(removedTask);
+            }
+            if (keywordIndex != null) {
+                keywordIndex.remove(removedTask);
+            }
+            if (bitmapIndex != null) {
+                bitmapIndex.remove(taskIndex);
+            }
+            if (timeIndex != null) {
+                timeIndex.remove(removedTask);
+            }
+            recordChange(TaskChange.Type.REMOVED, taskIndex, removedTask);
+        }
+    }
+
+    /**
+     * Deletes the tasks at the given positions in one pass, moving each remaining task at most once.
+     * Listeners are told about the new contents of the list once, instead of about each removal.
+     *
+     * @param positions The zero-based positions of the tasks to delete. Positions past the end are ignored.
+     * @return The deleted tasks, in list order.
+     */
+    public List<Task> deleteTasks(BitSet positions) {
+        List<Task> removedTasks = new ArrayList<>();
+        int size = tasks.size();
+        int first = positions.nextSetBit(0);
+        if (first < 0 || first >= size) {
+            return removedTasks;
+        }
+        int kept = first;
+        for (int i = first; i < size; i++) {
+            Task task = tasks.get(i);
+            if (positions.get(i)) {
+                removedTasks.add(task);
+                if (idIndex != null) {
+                    idIndex.remove(task);
+                }
+                if (keywordIndex != null) {
+                    keywordIndex.remove(task);
+                }
+                if (timeIndex != null) {
+                    timeIndex.remove(task);
+                }
+            } else {
+                tasks.set(kept++, task);
+            }
+        }
+        tasks.subList(kept, size).clear();
+        if (bitmapIndex != null) {
+            bitmapIndex = new TaskBitmapIndex(tasks);
+        }
+
+        // Recording the removals from the last position down keeps every recorded index valid on replay.
+        int index = size;
+        for (int i = removedTasks.size() - 1; i >= 0; i--) {
+            index = positions.previousSetBit(index - 1);
+            pendingChanges.add(new TaskChange(TaskChange.Type.REMOVED, index, removedTasks.get(i)));
+        }
+        modificationCount += removedTasks.size();
+        for (TaskListListener listener : listeners) {
+            listener.onReset(tasks);
         }
+        return removedTasks;
+    }
+
+    /**
+     * Replaces the task at the given index with another task, which takes over the id of the task it
+     * replaces.
+     *
+     * @param taskIndex The index of the task to be replaced.
+     * @param task The task to put in its place.
+     */
+    public void replaceTask(int taskIndex, Task task) {
+        task.setId(tasks.get(taskIndex).getId());
+        Task replacedTask = tasks.set(taskIndex, task);
+        if (idIndex != null) {
+            idIndex.remove(replacedTask);
+            idIndex.add(task);
+        }
+        if (keywordIndex != null) {
+            keywordIndex.replace(replacedTask, task);
+        }
+        if (timeIndex != null) {
+            timeIndex.remove(replacedTask);
+            timeIndex.add(task);
+        }
+        updateBitmaps(taskIndex, task);
+        recordChange(TaskChange.Type.UPDATED, taskIndex, task);
     }
 
     /**
@@ -43,7 +263,12 @@ public class TaskList {
      * @param taskIndex The index of the task to be marked as done.
      */
     public void markTaskAsDone(int taskIndex) {
-        tasks.get(taskIndex).markAsDone();
+        Task task = tasks.get(taskIndex);
+        if (!task.getStatusIcon().equals("X")) {
+            task.markAsDone();
+            updateBitmaps(taskIndex, task);
+            recordChange(TaskChange.Type.UPDATED, taskIndex, task);
+        }
     }
 
     /**
@@ -52,7 +277,12 @@ public class TaskList {
      * @param taskIndex The index of the task to be marked as not done.
      */
     public void markTaskAsUndone(int taskIndex) {
-        tasks.get(taskIndex).markAsUndone();
+        Task task = tasks.get(taskIndex);
+        if (task.getStatusIcon().equals("X")) {
+            task.markAsUndone();
+            updateBitmaps(taskIndex, task);
+            recordChange(TaskChange.Type.UPDATED, taskIndex, task);
+        }
     }
 
     /**
@@ -64,6 +294,158 @@ public class TaskList {
         return tasks;
     }
 
+    /**
+     * Returns the task with the given id.
+     *
+     * @param id The id of the task.
+     * @return The task, or null if no task has that id.
+     */
+    public Task getTaskById(long id) {
+        if (idIndex == null) {
+            idIndex = new TaskIdIndex(tasks);
+        }
+        return idIndex.get(id);
+    }
+
+    /**
+     * Returns the current position of the task with the given id. Ids increase along the list, so the
+     * position is found by a binary search over the ids, without reading every task.
+     *
+     * @param id The id of the task.
+     * @return The zero-based position of the task, or -1 if no task has that id.
+     */
+    public int indexOfTaskId(long id) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = tasks.get(middle).getId();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the tasks whose descriptions match a keyword query, in list order.
+     * <p>
+     * A query is one or more alternatives separated by {@code |}, each made of search terms that must all
+     * match, such as {@code book pen | homework}. A term matches a task if a word in its description starts
+     * with the term, ignoring case. A query with no letters or digits to search for falls back to
+     * {@link #findTasksContaining(String)}.
+     * </p>
+     *
+     * @param query The keyword query.
+     * @return The matching tasks.
+     */
+    public List<Task> findTasks(String query) {
+        if (keywordIndex == null) {
+            keywordIndex = new KeywordIndex(tasks);
+        }
+        long[] ids = keywordIndex.find(query);
+        if (ids == null) {
+            return findTasksContaining(query);
+        }
+        List<Task> matches = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            matches.add(getTaskById(id));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain the given text exactly, in list order.
+     * This scans every description, so it is slower than {@link #findTasks(String)} on long lists.
+     *
+     * @param text The text to look for.
+     * @return The matching tasks.
+     */
+    public List<Task> findTasksContaining(String text) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getDescription().contains(text)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the positions of the tasks matching a filter on status, priority and task type.
+     *
+     * @param filter The filter to match.
+     * @return The zero-based positions of the matching tasks.
+     */
+    public BitSet selectTasks(TaskFilter filter) {
+        if (bitmapIndex == null) {
+            bitmapIndex = new TaskBitmapIndex(tasks);
+        }
+        return bitmapIndex.select(filter);
+    }
+
+    /**
+     * Returns how many tasks match a filter on status, priority and task type.
+     *
+     * @param filter The filter to match.
+     * @return The number of matching tasks.
+     */
+    public int countTasks(TaskFilter filter) {
+        return filter == TaskFilter.ALL ? tasks.size() : selectTasks(filter).cardinality();
+    }
+
+    /**
+     * Returns the deadlines due and the events starting in a period, in time order.
+     *
+     * @param from The start of the period, or null for no start.
+     * @param to The end of the period, which is not part of it.
+     * @return The tasks in the period.
+     */
+    public List<Task> findTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        return getTimeIndex().findBetween(from == null ? Long.MIN_VALUE : TaskDates.toEpochMinute(from),
+                TaskDates.toEpochMinute(to));
+    }
+
+    /**
+     * Returns the deadlines that are not done and were due before the given time, earliest first.
+     *
+     * @param now The current time.
+     * @return The overdue deadlines.
+     */
+    public List<Task> findOverdueTasks(LocalDateTime now) {
+        return getTimeIndex().findOverdue(TaskDates.toEpochMinute(now));
+    }
+
+    /**
+     * Returns the events that overlap an event, other than the event itself, in order of their start.
+     * Events that only touch, one ending at the minute the other starts, do not overlap.
+     *
+     * @param event The event to check.
+     * @return The overlapping events.
+     */
+    public List<Event> findConflictingEvents(Event event) {
+        List<Event> conflicts = getTimeIndex().findOverlapping(event.getFromMinute(), event.getToMinute());
+        conflicts.removeIf(conflict -> conflict == event);
+        return conflicts;
+    }
+
+    /**
+     * Returns the gaps between events in a period that are at least the given length, earliest first.
+     *
+     * @param length The shortest gap to return.
+     * @param from The start of the period.
+     * @param to The end of the period.
+     * @return The free slots.
+     */
+    public List<TimeSlot> findFreeSlots(Duration length, LocalDateTime from, LocalDateTime to) {
+        return getTimeIndex().findFreeSlots(Math.max(1, length.toMinutes()), TaskDates.toEpochMinute(from),
+                TaskDates.toEpochMinute(to));
+    }
+
     /**
      * Upgrades the priority of a task at the specified index.
      * <p>
@@ -84,8 +466,12 @@ public class TaskList {
 
         if (taskToUpgrade.getPriority() == Priority.LOW) {
             taskToUpgrade.setPriority(Priority.MEDIUM);
+            updateBitmaps(taskIndex, taskToUpgrade);
+            recordChange(TaskChange.Type.UPDATED, taskIndex, taskToUpgrade);
         } else if (taskToUpgrade.getPriority() == Priority.MEDIUM) {
             taskToUpgrade.setPriority(Priority.HIGH);
+            updateBitmaps(taskIndex, taskToUpgrade);
+            recordChange(TaskChange.Type.UPDATED, taskIndex, taskToUpgrade);
         }
     }
 
@@ -109,8 +495,12 @@ public class TaskList {
 
         if (taskToDowngrade.getPriority() == Priority.HIGH) {
             taskToDowngrade.setPriority(Priority.MEDIUM);
+            updateBitmaps(taskIndex, taskToDowngrade);
+            recordChange(TaskChange.Type.UPDATED, taskIndex, taskToDowngrade);
         } else if (taskToDowngrade.getPriority() == Priority.MEDIUM) {
             taskToDowngrade.setPriority(Priority.LOW);
+            updateBitmaps(taskIndex, taskToDowngrade);
+            recordChange(TaskChange.Type.UPDATED, taskIndex, taskToDowngrade);
         }
     }
 
@@ -123,4 +513,85 @@ public class TaskList {
     public int size() {
         return tasks.size();
     }
+
+    /**
+     * Returns how many changes have been made to the task list since it was created.
+     * Comparing two readings tells whether anything changed in between.
+     *
+     * @return The modification count.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Returns whether there are changes that have not been taken by {@link #drainChanges()} yet.
+     *
+     * @return True if there are pending changes.
+     */
+    public boolean hasPendingChanges() {
+        return !pendingChanges.isEmpty();
+    }
+
+    /**
+     * Returns the changes made since the last call, in the order they were made, and forgets them.
+     *
+     * @return The pending changes.
+     */
+    public List<TaskChange> drainChanges() {
+        List<TaskChange> changes = pendingChanges;
+        pendingChanges = new ArrayList<>();
+        return changes;
+    }
+
+    /**
+     * Registers a listener to be told about every change made to the task list from now on.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(TaskListListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops telling the given listener about changes.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(TaskListListener listener) {
+        listeners.remove(listener);
+    }
+
+    private TaskTimeIndex getTimeIndex() {
+        if (timeIndex == null) {
+            timeIndex = new TaskTimeIndex(tasks);
+        }
+        return timeIndex;
+    }
+
+    private void updateBitmaps(int taskIndex, Task task) {
+        if (bitmapIndex != null) {
+            bitmapIndex.update(taskIndex, task);
+        }
+    }
+
+    private void recordChange(TaskChange.Type type, int taskIndex, Task task) {
+        modificationCount++;
+        if (!listeners.isEmpty()) {
+            TaskChange change = new TaskChange(type, taskIndex, task);
+            for (TaskListListener listener : listeners) {
+                listener.onChange(change);
+            }
+        }
+        if (type == TaskChange.Type.UPDATED && !pendingChanges.isEmpty()) {
+            TaskChange lastChange = pendingChanges.get(pendingChanges.size() - 1);
+            boolean isSameUpdate = lastChange.getTask() == task && lastChange.getIndex() == taskIndex
+                    && lastChange.getType() != TaskChange.Type.REMOVED;
+            if (isSameUpdate) {
+                // The earlier record already carries the task, whose latest state is what gets persisted.
+                return;
+            }
+        }
+        pendingChanges.add(new TaskChange(type, taskIndex, task));
+    }
 }
@@ -0,0 +1,24 @@
+package nicholas.tasks;
+
+import java.util.List;
+
+/**
+ * Receives the changes made to a {@link TaskList}, such as a view that mirrors the list.
+ * Listeners are called on the thread that changes the list.
+ */
+public interface TaskListListener {
+
+    /**
+     * Called when the whole list is replaced, such as after the tasks are reloaded from storage.
+     *
+     * @param tasks The tasks now in the list.
+     */
+    void onReset(List<Task> tasks);
+
+    /**
+     * Called after a task is added, updated or removed.
+     *
+     * @param change The change that was made.
+     */
+    void onChange(TaskChange change);
+}
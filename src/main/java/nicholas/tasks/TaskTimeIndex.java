@@ -0,0 +1,174 @@
+package nicholas.tasks;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Keeps deadlines sorted by the minute they are due and events sorted by the minute they start, so
+ * range queries over time find their tasks without reading every task.
+ * <p>
+ * A query over a period looks up its start in each sorted map and walks forward to its end, so it costs
+ * {@code O(log n + k)} for {@code k} matching tasks. Tasks at the same minute keep the order they were
+ * indexed in.
+ * </p>
+ * <p>
+ * Events are also kept as intervals in an {@link EventIntervalTree}, for finding the events that overlap
+ * a period and the free time between them.
+ * </p>
+ */
+class TaskTimeIndex {
+    private final TreeMap<Long, List<Task>> deadlinesByDue;
+    private final TreeMap<Long, List<Task>> eventsByStart;
+    private final EventIntervalTree eventIntervals;
+
+    /**
+     * Constructs a TaskTimeIndex over the given tasks.
+     *
+     * @param tasks The tasks to index. Tasks without dates are skipped.
+     */
+    TaskTimeIndex(List<Task> tasks) {
+        this.deadlinesByDue = new TreeMap<>();
+        this.eventsByStart = new TreeMap<>();
+        this.eventIntervals = new EventIntervalTree();
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Indexes a task if it is a deadline or an event.
+     *
+     * @param task The new task.
+     */
+    void add(Task task) {
+        if (task instanceof Deadline) {
+            deadlinesByDue.computeIfAbsent(((Deadline) task).getByMinute(), minute -> new ArrayList<>(1)).add(task);
+        } else if (task instanceof Event) {
+            eventsByStart.computeIfAbsent(((Event) task).getFromMinute(), minute -> new ArrayList<>(1)).add(task);
+            eventIntervals.add((Event) task);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The removed task.
+     */
+    void remove(Task task) {
+        if (task instanceof Deadline) {
+            remove(deadlinesByDue, ((Deadline) task).getByMinute(), task);
+        } else if (task instanceof Event) {
+            remove(eventsByStart, ((Event) task).getFromMinute(), task);
+            eventIntervals.remove((Event) task);
+        }
+    }
+
+    /**
+     * Returns the deadlines due and the events starting in a period, in time order. At the same minute,
+     * deadlines come before events.
+     *
+     * @param fromMinute The first epoch minute of the period.
+     * @param toMinute The epoch minute just after the period.
+     * @return The tasks in the period.
+     */
+    List<Task> findBetween(long fromMinute, long toMinute) {
+        List<Task> tasks = new ArrayList<>();
+        if (fromMinute >= toMinute) {
+            return tasks;
+        }
+        Iterator<Map.Entry<Long, List<Task>>> deadlines =
+                deadlinesByDue.subMap(fromMinute, true, toMinute, false).entrySet().iterator();
+        Iterator<Map.Entry<Long, List<Task>>> events =
+                eventsByStart.subMap(fromMinute, true, toMinute, false).entrySet().iterator();
+        Map.Entry<Long, List<Task>> deadline = deadlines.hasNext() ? deadlines.next() : null;
+        Map.Entry<Long, List<Task>> event = events.hasNext() ? events.next() : null;
+        while (deadline != null || event != null) {
+            if (event == null || (deadline != null && deadline.getKey() <= event.getKey())) {
+                tasks.addAll(deadline.getValue());
+                deadline = deadlines.hasNext() ? deadlines.next() : null;
+            } else {
+                tasks.addAll(event.getValue());
+                event = events.hasNext() ? events.next() : null;
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the deadlines that are not done and were due before the given minute, earliest first.
+     *
+     * @param nowMinute The current epoch minute.
+     * @return The overdue deadlines.
+     */
+    List<Task> findOverdue(long nowMinute) {
+        List<Task> tasks = new ArrayList<>();
+        for (List<Task> deadlines : deadlinesByDue.headMap(nowMinute, false).values()) {
+            for (Task deadline : deadlines) {
+                if (!deadline.isDone()) {
+                    tasks.add(deadline);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the events that overlap a period, in order of their start.
+     *
+     * @param fromMinute The first epoch minute of the period.
+     * @param toMinute The epoch minute just after the period.
+     * @return The overlapping events.
+     */
+    List<Event> findOverlapping(long fromMinute, long toMinute) {
+        return eventIntervals.findOverlapping(fromMinute, toMinute);
+    }
+
+    /**
+     * Returns the gaps of at least the given length between the events in a period, earliest first.
+     * The events overlapping the period are swept in order of their start, moving a cursor past the end
+     * of each, and every gap the cursor jumps over that is long enough is a free slot.
+     *
+     * @param lengthMinutes The shortest gap to return, in minutes.
+     * @param fromMinute The first epoch minute of the period.
+     * @param toMinute The epoch minute just after the period.
+     * @return The free slots.
+     */
+    List<TimeSlot> findFreeSlots(long lengthMinutes, long fromMinute, long toMinute) {
+        List<TimeSlot> slots = new ArrayList<>();
+        long cursor = fromMinute;
+        for (Event event : eventIntervals.findOverlapping(fromMinute, toMinute)) {
+            if (event.getFromMinute() - cursor >= lengthMinutes) {
+                slots.add(toSlot(cursor, event.getFromMinute()));
+            }
+            cursor = Math.max(cursor, event.getToMinute());
+        }
+        if (toMinute - cursor >= lengthMinutes) {
+            slots.add(toSlot(cursor, toMinute));
+        }
+        return slots;
+    }
+
+    private static TimeSlot toSlot(long fromMinute, long toMinute) {
+        return new TimeSlot(TaskDates.fromEpochMinute(fromMinute), TaskDates.fromEpochMinute(toMinute));
+    }
+
+    private static void remove(NavigableMap<Long, List<Task>> tasksByMinute, long minute, Task task) {
+        List<Task> tasks = tasksByMinute.get(minute);
+        if (tasks == null) {
+            return;
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i) == task) {
+                tasks.remove(i);
+                break;
+            }
+        }
+        if (tasks.isEmpty()) {
+            tasksByMinute.remove(minute);
+        }
+    }
+}
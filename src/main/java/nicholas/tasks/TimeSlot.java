@@ -0,0 +1,45 @@
+package nicholas.tasks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Represents a period of time with no events in it, as found by a free-slot search.
+ */
+public class TimeSlot {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    /**
+     * Constructs a TimeSlot.
+     *
+     * @param start The start of the slot.
+     * @param end The end of the slot.
+     */
+    public TimeSlot(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns how long the slot lasts.
+     *
+     * @return The length of the slot.
+     */
+    public Duration getLength() {
+        return Duration.between(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return TaskDates.format(start) + " to " + TaskDates.format(end);
+    }
+}
@@ -0,0 +1,132 @@
+package nicholas.ui;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import nicholas.command.Command;
+import nicholas.command.CommandRegistry;
+import nicholas.exception.DukeException;
+import nicholas.tasks.TaskList;
+
+/**
+ * Runs a script of commands, one per line, against the task list without showing each result,
+ * for bulk imports such as thousands of generated tasks.
+ * <p>
+ * The tasks are loaded once and changed in memory. By default nothing is written until the script ends,
+ * when a single snapshot is saved. With a checkpoint interval, the changes made so far are also appended
+ * to the journal every that many commands, so a long import that is cut short keeps most of its work.
+ * Commands that fail are reported with their line number and skipped. Blank lines are ignored, and
+ * {@code bye} ends the script early.
+ * </p>
+ */
+public class BatchRunner {
+    private final Storage storage;
+    private final CommandRegistry commandRegistry;
+    private final int checkpointInterval;
+    private final PrintStream errors;
+
+    /**
+     * Constructs a BatchRunner.
+     *
+     * @param storage The storage to load tasks from and persist them to.
+     * @param checkpointInterval The number of commands between checkpoints, or 0 to persist only at the end.
+     * @param errors Where failed commands are reported.
+     */
+    public BatchRunner(Storage storage, int checkpointInterval, PrintStream errors) {
+        assert checkpointInterval >= 0 : "Checkpoint interval should not be negative";
+        this.storage = storage;
+        this.commandRegistry = CommandRegistry.withDefaultCommands();
+        this.checkpointInterval = checkpointInterval;
+        this.errors = errors;
+    }
+
+    /**
+     * Runs every command in the script, then saves the tasks and stops background persistence.
+     *
+     * @param script The commands to run, one per line.
+     * @return How many commands ran and how long they took.
+     * @throws IOException If the script cannot be read or the tasks cannot be loaded or saved.
+     */
+    public Report run(BufferedReader script) throws IOException {
+        long start = System.nanoTime();
+        TaskList taskList = storage.loadTaskList();
+        int commandCount = 0;
+        int failureCount = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = script.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (line.trim().equalsIgnoreCase("bye")) {
+                break;
+            }
+            commandCount++;
+            try {
+                Command command = commandRegistry.parse(line);
+                command.execute(taskList);
+            } catch (DukeException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                failureCount++;
+                errors.println("Line " + lineNumber + ": " + e.getMessage());
+            }
+            if (checkpointInterval > 0 && commandCount % checkpointInterval == 0) {
+                storage.persist(taskList);
+                storage.flush();
+            }
+        }
+        // Whatever is still unjournaled goes straight into the snapshot instead of through the journal.
+        storage.saveTasks(taskList);
+        storage.close();
+        return new Report(commandCount, failureCount, taskList.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Summarises a batch run.
+     */
+    public static class Report {
+        private final int commandCount;
+        private final int failureCount;
+        private final int taskCount;
+        private final long elapsedNanos;
+
+        Report(int commandCount, int failureCount, int taskCount, long elapsedNanos) {
+            this.commandCount = commandCount;
+            this.failureCount = failureCount;
+            this.taskCount = taskCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getCommandCount() {
+            return commandCount;
+        }
+
+        public int getFailureCount() {
+            return failureCount;
+        }
+
+        public int getTaskCount() {
+            return taskCount;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Returns the throughput of the run, including loading and saving the tasks.
+         *
+         * @return The number of commands run per second.
+         */
+        public double getCommandsPerSecond() {
+            return elapsedNanos == 0 ? 0 : commandCount * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Ran %d commands (%d failed) in %d ms, %.0f commands/s. Now you have %d tasks.",
+                    commandCount, failureCount, elapsedNanos / 1_000_000, getCommandsPerSecond(), taskCount);
+        }
+    }
+}
@@ -4,69 +4,44 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.List;
 
+import nicholas.command.Command;
+import nicholas.command.CommandRegistry;
+import nicholas.command.CommandResult;
 import nicholas.exception.EmptyCommandException;
 import nicholas.exception.NotTaskException;
 import nicholas.tasks.Task;
 import nicholas.tasks.TaskList;
-import nicholas.tasks.Todo;
+import nicholas.tasks.TaskListListener;
 
 /**
  * Handles user commands and responses for the GUI interface of the task manager.
- * This class is responsible for processing user inputs, executing the corresponding
- * commands, and returning appropriate responses.
+ * Commands are parsed and executed by the shared {@link CommandRegistry}, and this class
+ * describes their results as responses for the GUI.
  */
 public class GuiResponseHandler {
     private Storage storage;
-    private Parser parser;
+    private CommandRegistry commandRegistry;
     private TaskList taskList;
     private List<Task> loadedTasks;
+    private TaskListListener taskListListener;
+    private String notice;
 
     /**
      * Initializes a new instance of the GuiResponseHandler with default components.
      */
     public GuiResponseHandler() {
-        storage = new Storage();
-        parser = new Parser();
-        taskList = new TaskList();
+        this(new Storage());
     }
 
     /**
-     * Processes the user command and executes the corresponding action.
+     * Initializes a new instance of the GuiResponseHandler that keeps its tasks in the given storage.
      *
-     * @param commandParts The parsed parts of the user command.
-     * @param command The command keyword.
-     * @return The response message.
-     * @throws EmptyCommandException If the command is empty.
-     * @throws NotTaskException If the command is not recognized.
+     * @param storage The storage to load tasks from and persist them to.
      */
-    public String processUserCommand(
-            String[] commandParts, String command) throws EmptyCommandException, NotTaskException {
-        switch (command) {
-        case "mark":
-            return handleMarkCommand(commandParts, command);
-        case "unmark":
-            return handleUnmarkCommand(commandParts, command);
-        case "list":
-            return handleListCommand();
-        case "delete":
-            return handleDeleteCommand(commandParts, command);
-        case "find":
-            return handleFindCommand(commandParts, command);
-        case "upgrade":
-            return handleUpgradePriorityCommand(commandParts, command);
-        case "downgrade":
-            return handleDowngradePriorityCommand(commandParts, command);
-        case "todo":
-            return handleTodoCommand(commandParts, command);
-        case "deadline":
-            return handleDeadlineCommand(commandParts, command);
-        case "event":
-            return handleEventCommand(commandParts, command);
-        case "bye":
-            return handleExitCommand();
-        default:
-            throw new NotTaskException("OOPS!!! I'm sorry, but I don't know what that means :-(");
-        }
+    public GuiResponseHandler(Storage storage) {
+        this.storage = storage;
+        commandRegistry = CommandRegistry.withDefaultCommands();
+        taskList = new TaskList();
     }
 
     /**
@@ -76,322 +51,216 @@ public class GuiResponseHandler {
      */
     public void loadTasks() throws FileNotFoundException {
         try {
-            loadedTasks = storage.loadTasks();
-            for (Task task : loadedTasks) {
-                taskList.addTask(task);
+            taskList = storage.loadTaskList();
+            loadedTasks = taskList.getTasks();
+            if (storage.getStaleJournal() != null) {
+                notice = Ui.describeStaleJournal(storage.getStaleJournal());
             }
+            attachListener();
         } catch (FileNotFoundException e) {
             throw new FileNotFoundException("Error loading tasks: " + e.getMessage());
         }
     }
 
     /**
-     * Parses the user input into command parts.
-     *
-     * @param userInput The raw user input.
-     * @return An array containing command parts.
-     */
-    public String[] getCommandParts(String userInput) {
-        return parser.parseCommand(userInput);
-    }
-
-    /**
-     * Extracts the command keyword from the parsed command parts.
+     * Sets the listener that mirrors the task list, such as the GUI's task pane.
+     * It is told about the current tasks straight away, and again whenever the tasks are reloaded.
      *
-     * @param commandParts The parsed command parts.
-     * @return The command keyword in lowercase.
+     * @param listener The listener to keep informed, or null for none.
      */
-    public String getCommand(String[] commandParts) {
-        return commandParts[0].toLowerCase();
-    }
-
-    /**
-     * Handles the "mark" command to mark a task as done.
-     *
-     * @param commandParts The parsed command parts.
-     * @param command The command keyword.
-     * @return The response message.
-     * @throws EmptyCommandException If no task index is provided.
-     */
-    public String handleMarkCommand(String[] commandParts, String command) throws EmptyCommandException {
-        StringBuilder response = new StringBuilder();
-        boolean isWrongCommandPartsLength = commandParts.length < 2;
-        boolean isEmptyCommand;
-        if (isWrongCommandPartsLength) {
-            isEmptyCommand = true;
-        } else {
-            isEmptyCommand = commandParts[1].trim().isEmpty();
-        }
-        if (isWrongCommandPartsLength || isEmptyCommand) {
-            throw new EmptyCommandException(command);
+    public void setTaskListListener(TaskListListener listener) {
+        if (taskListListener != null) {
+            taskList.removeListener(taskListListener);
         }
-        int markIndex = Integer.parseInt(commandParts[1]) - 1;
-        taskList.markTaskAsDone(markIndex);
-        response = response.append("Nice! I've marked this task as done:\n").append(taskList.getTasks().get(markIndex));
-        return response.toString();
+        taskListListener = listener;
+        attachListener();
     }
 
-    /**
-     * Handles the "unmark" command to mark a task as not done.
-     *
-     * @param commandParts The parsed command parts.
-     * @param command The command keyword.
-     * @return The response message.
-     * @throws EmptyCommandException If no task index is provided.
-     */
-    public String handleUnmarkCommand(String[] commandParts, String command) throws EmptyCommandException {
-        StringBuilder response = new StringBuilder();
-        boolean isWrongCommandPartsLength = commandParts.length < 2;
-        boolean isEmptyCommand;
-        if (isWrongCommandPartsLength) {
-            isEmptyCommand = true;
-        } else {
-            isEmptyCommand = commandParts[1].trim().isEmpty();
-        }
-        if (isWrongCommandPartsLength || isEmptyCommand) {
-            throw new EmptyCommandException(command);
-        }
-        int unmarkIndex = Integer.parseInt(commandParts[1]) - 1;
-        taskList.markTaskAsUndone(unmarkIndex);
-        response.append("OK, I've unmarked this task:\n").append(taskList.getTasks().get(unmarkIndex));
-        return response.toString();
-    }
-
-    /**
-     * Handles the "list" command to display all tasks.
-     *
-     * @return The list of tasks as a formatted string.
-     */
-    public String handleListCommand() throws EmptyCommandException {
-        StringBuilder response = new StringBuilder();
-        if (taskList.size() == 0) {
-            response.append("Your task list is empty.");
-        } else {
-            response.append("Here are your tasks:\n");
-            for (int i = 0; i < taskList.size(); i++) {
-                response.append((i + 1)).append(". ").append(taskList.getTasks().get(i)).append("\n");
-            }
+    private void attachListener() {
+        if (taskListListener != null) {
+            taskList.addListener(taskListListener);
+            taskListListener.onReset(taskList.getTasks());
         }
-        return response.toString();
     }
 
     /**
-     * Handles the "delete" command to remove a task.
+     * Reloads the tasks if the task file was rewritten outside this session since they were last loaded or saved.
+     * <p>
+     * If this session has journaled changes that are not in the snapshot yet, they were written against the
+     * old snapshot and cannot be replayed on the new one, so the tasks are not reloaded. The session's tasks
+     * are saved over the outside changes instead, so the file and the journal agree again, and the user is
+     * told with the next response.
+     * </p>
      *
-     * @param commandParts The parsed command parts.
-     * @param command The command keyword.
-     * @return The response message.
-     * @throws EmptyCommandException If no task index is provided.
+     * @return True if the tasks were reloaded.
+     * @throws IOException If the file cannot be read, or the session's tasks cannot be saved.
      */
-    public String handleDeleteCommand(String[] commandParts, String command) throws EmptyCommandException {
-        StringBuilder response = new StringBuilder();
-        boolean isWrongCommandPartsLength = commandParts.length < 2;
-        boolean isEmptyCommand;
-        if (isWrongCommandPartsLength) {
-            isEmptyCommand = true;
-        } else {
-            isEmptyCommand = commandParts[1].trim().isEmpty();
+    public boolean reloadIfChangedExternally() throws IOException {
+        if (!storage.isChangedExternally()) {
+            return false;
         }
-        if (isWrongCommandPartsLength || isEmptyCommand) {
-            throw new EmptyCommandException(command);
+        if (storage.hasPendingChanges()) {
+            storage.saveTasks(taskList);
+            notice = "The task file was changed outside Nicholas while this session had unsaved changes, so it\n"
+                    + "was not reloaded. This session's tasks were saved over the outside changes.";
+            return false;
         }
-        int deleteIndex = Integer.parseInt(commandParts[1]) - 1;
-        Task taskToDelete = taskList.getTasks().get(deleteIndex);
-        taskList.deleteTask(deleteIndex);
-        response.append("Noted. I've removed this task:\n").append(taskToDelete);
-        return response.toString();
+        loadTasks();
+        return true;
     }
 
     /**
-     * Handles the "find" command to search for tasks containing a keyword.
+     * Returns a message the user should see with the next response, such as a warning about changes that
+     * could not be applied when the tasks were loaded, and forgets it.
      *
-     * @param commandParts The parsed command parts.
-     * @param command The command keyword.
-     * @return The list of matching tasks.
-     * @throws EmptyCommandException If no search keyword is provided.
+     * @return The message, or null if there is none.
      */
-    public String handleFindCommand(String[] commandParts, String command) throws EmptyCommandException {
-        StringBuilder response = new StringBuilder();
-        boolean isWrongCommandPartsLength = commandParts.length < 2;
-        boolean isEmptyCommand;
-        if (isWrongCommandPartsLength) {
-            isEmptyCommand = true;
-        } else {
-            isEmptyCommand = commandParts[1].trim().isEmpty();
-        }
-        if (isWrongCommandPartsLength || isEmptyCommand) {
-            throw new EmptyCommandException(command);
-        }
-        response.append("Here are the matching tasks containing '").append(commandParts[1]).append("':\n");
-        int count = 1;
-        for (Task task : taskList.getTasks()) {
-            if (task.getDescription().contains(commandParts[1])) {
-                response.append(count).append(". ").append(task).append("\n");
-                count++;
-            }
-        }
-        if (count == 1) {
-            response.append("No matching tasks found.");
-        }
-        return response.toString();
+    public String takeNotice() {
+        String takenNotice = notice;
+        notice = null;
+        return takenNotice;
     }
 
     /**
-     * Handles the "upgrade" command to increase the priority of a task.
-     * <p>
-     * If the task's priority is {@code LOW}, it is upgraded to {@code MEDIUM}.
-     * If the task's priority is {@code MEDIUM}, it is upgraded to {@code HIGH}.
-     * If the task is already at {@code HIGH} priority, no changes are made.
-     * </p>
+     * Parses the user input into a command without executing it.
      *
-     * @param commandParts The parsed command parts containing the task index.
-     * @param command The command keyword.
-     * @return The response message confirming the priority upgrade.
-     * @throws EmptyCommandException If no task index is provided.
+     * @param userInput The raw user input.
+     * @return The parsed command.
+     * @throws EmptyCommandException If the command is missing required arguments.
+     * @throws NotTaskException If the command is not recognized.
      */
-    public String handleUpgradePriorityCommand(String[] commandParts, String command) throws EmptyCommandException {
-        StringBuilder response = new StringBuilder();
-        boolean isWrongCommandPartsLength = commandParts.length < 2;
-        boolean isEmptyCommand;
-        if (isWrongCommandPartsLength) {
-            isEmptyCommand = true;
-        } else {
-            isEmptyCommand = commandParts[1].trim().isEmpty();
-        }
-        if (isWrongCommandPartsLength || isEmptyCommand) {
-            throw new EmptyCommandException(command);
-        }
-        int upgradeIndex = Integer.parseInt(commandParts[1]) - 1;
-        taskList.upgradeTask(upgradeIndex);
-        response = response.append("OK, I've upgraded this task:\n").append(taskList.getTasks().get(upgradeIndex));
-        return response.toString();
+    public Command parseCommand(String userInput) throws EmptyCommandException, NotTaskException {
+        return commandRegistry.parse(userInput);
     }
 
     /**
-     * Handles the "downgrade" command to decrease the priority of a task.
-     * <p>
-     * If the task's priority is {@code HIGH}, it is downgraded to {@code MEDIUM}.
-     * If the task's priority is {@code MEDIUM}, it is downgraded to {@code LOW}.
-     * If the task is already at {@code LOW} priority, no changes are made.
-     * </p>
+     * Executes a parsed command against the task list and returns the response to show.
      *
-     * @param commandParts The parsed command parts containing the task index.
-     * @param command The command keyword.
-     * @return The response message confirming the priority downgrade.
-     * @throws EmptyCommandException If no task index is provided.
+     * @param command The command to execute.
+     * @return The response message.
      */
-    public String handleDowngradePriorityCommand(String[] commandParts, String command) throws EmptyCommandException {
-        StringBuilder response = new StringBuilder();
-        boolean isWrongCommandPartsLength = commandParts.length < 2;
-        boolean isEmptyCommand;
-        if (isWrongCommandPartsLength) {
-            isEmptyCommand = true;
-        } else {
-            isEmptyCommand = commandParts[1].trim().isEmpty();
-        }
-        if (isWrongCommandPartsLength || isEmptyCommand) {
-            throw new EmptyCommandException(command);
-        }
-        int downgradeIndex = Integer.parseInt(commandParts[1]) - 1;
-        taskList.downgradeTask(downgradeIndex);
-        response = response.append("OK, I've downgraded this task:\n").append(taskList.getTasks().get(downgradeIndex));
-        return response.toString();
+    public String execute(Command command) {
+        return describe(command.execute(taskList));
     }
 
-    /**
-     * Handles the "todo" command to add a new Todo task.
-     *
-     * @param commandParts The parsed command parts.
-     * @param command The command keyword.
-     * @return The response message.
-     * @throws EmptyCommandException If the task description is empty.
-     */
-    public String handleTodoCommand(String[] commandParts, String command) throws EmptyCommandException {
-        StringBuilder response = new StringBuilder();
-        boolean isWrongCommandPartsLength = commandParts.length < 2;
-        boolean isEmptyCommand;
-        if (isWrongCommandPartsLength) {
-            isEmptyCommand = true;
-        } else {
-            isEmptyCommand = commandParts[1].trim().isEmpty();
+    private String describe(CommandResult result) {
+        if (result.isBulkChange()) {
+            return describeBulkChange(result);
         }
-        if (isWrongCommandPartsLength || isEmptyCommand) {
-            throw new EmptyCommandException(command);
+        StringBuilder response = new StringBuilder();
+        switch (result.getKind()) {
+        case ADDED:
+            response.append("Got it. I've added this task:\n").append(TaskRecordParser.format(result.getTask()));
+            if (!result.getConflicts().isEmpty()) {
+                response.append("\nHeads up! It overlaps ").append(result.getConflicts().size())
+                        .append(" other event(s):\n");
+                appendNumbered(response, result.getConflicts());
+            }
+            return response.toString();
+        case MARKED:
+            return "Nice! I've marked this task as done:\n" + TaskRecordParser.format(result.getTask());
+        case UNMARKED:
+            return "OK, I've unmarked this task:\n" + TaskRecordParser.format(result.getTask());
+        case DELETED:
+            return "Noted. I've removed this task:\n" + TaskRecordParser.format(result.getTask());
+        case UPGRADED:
+            return "OK, I've upgraded this task:\n" + TaskRecordParser.format(result.getTask());
+        case DOWNGRADED:
+            return "OK, I've downgraded this task:\n" + TaskRecordParser.format(result.getTask());
+        case LISTED:
+            if (result.getTasks().isEmpty()) {
+                return "Your task list is empty.";
+            }
+            response.append("Here are your tasks:\n");
+            appendNumbered(response, result.getTasks());
+            return response.toString();
+        case FILTERED:
+            response.append("Here are the tasks matching ").append(result.getQuery()).append(":\n");
+            if (result.getTasks().isEmpty()) {
+                return response.append("No matching tasks found.").toString();
+            }
+            appendNumbered(response, result.getTasks());
+            return response.toString();
+        case COUNTED:
+            response.append("You have ").append(result.getTaskCount()).append(" tasks");
+            if (!result.getQuery().isEmpty()) {
+                response.append(" matching ").append(result.getQuery());
+            }
+            return response.append(".").toString();
+        case SCHEDULED:
+            if (result.getTasks().isEmpty()) {
+                return "There are no tasks " + result.getQuery() + ".";
+            }
+            response.append("Here are the tasks ").append(result.getQuery()).append(":\n");
+            appendNumbered(response, result.getTasks());
+            return response.toString();
+        case FREE_SLOTS:
+            if (result.getFreeSlots().isEmpty()) {
+                return "There is no free slot of " + result.getQuery() + ".";
+            }
+            response.append("Here are the free slots of ").append(result.getQuery()).append(":\n");
+            appendNumbered(response, result.getFreeSlots());
+            return response.toString();
+        case FOUND:
+            response.append("Here are the matching tasks containing '").append(result.getQuery()).append("':\n");
+            if (result.getTasks().isEmpty()) {
+                return response.append("No matching tasks found.").toString();
+            }
+            appendNumbered(response, result.getTasks());
+            return response.toString();
+        case EXITED:
+            return "Bye. Hope to see you again soon!";
+        default:
+            throw new IllegalStateException("Unknown command result: " + result.getKind());
         }
-        Task todoTask = new Todo(commandParts[1].trim());
-        taskList.addTask(todoTask);
-        response.append("Got it. I've added this task:\n").append(todoTask);
-        return response.toString();
     }
 
-    /**
-     * Handles the "deadline" command to add a new Deadline task.
-     *
-     * @param commandParts The parsed command parts.
-     * @param command The command keyword.
-     * @return The response message.
-     * @throws EmptyCommandException If the task description is empty.
-     */
-    public String handleDeadlineCommand(String[] commandParts, String command) throws EmptyCommandException {
-        StringBuilder response = new StringBuilder();
-        boolean isWrongCommandPartsLength = commandParts.length < 2;
-        boolean isEmptyCommand;
-        if (isWrongCommandPartsLength) {
-            isEmptyCommand = true;
-        } else {
-            isEmptyCommand = commandParts[1].split("/by")[0].trim().isEmpty();
-        }
-        if (isWrongCommandPartsLength || isEmptyCommand) {
-            throw new EmptyCommandException(command);
+    private static String describeBulkChange(CommandResult result) {
+        int changedCount = result.getTasks().size();
+        switch (result.getKind()) {
+        case MARKED:
+            return "Nice! I've marked " + changedCount + " tasks as done.";
+        case UNMARKED:
+            return "OK, I've unmarked " + changedCount + " tasks.";
+        case UPGRADED:
+            return "OK, I've upgraded " + changedCount + " tasks.";
+        case DOWNGRADED:
+            return "OK, I've downgraded " + changedCount + " tasks.";
+        default:
+            return "Noted. I've removed " + changedCount + " tasks. Now you have " + result.getTaskCount()
+                    + " tasks in the list.";
         }
-        Task deadlineTask = parser.parseDeadline(commandParts[1]);
-        taskList.addTask(deadlineTask);
-        response.append("Got it. I've added this task:\n").append(deadlineTask);
-        return response.toString();
     }
 
-    /**
-     * Handles the "event" command to add a new Event task.
-     *
-     * @param commandParts The parsed command parts.
-     * @param command The command keyword.
-     * @return The response message.
-     * @throws EmptyCommandException If the task description is empty.
-     */
-    public String handleEventCommand(String[] commandParts, String command) throws EmptyCommandException {
-        StringBuilder response = new StringBuilder();
-        boolean isWrongCommandPartsLength = commandParts.length < 2;
-        boolean isEmptyCommand;
-        if (isWrongCommandPartsLength) {
-            isEmptyCommand = true;
-        } else {
-            isEmptyCommand = commandParts[1].split("/from")[0].trim().isEmpty();
+    private static void appendNumbered(StringBuilder response, List<?> items) {
+        for (int i = 0; i < items.size(); i++) {
+            Object item = items.get(i);
+            response.append(i + 1).append(". ")
+                    .append(item instanceof Task ? TaskRecordParser.format((Task) item) : item).append("\n");
         }
-        if (isWrongCommandPartsLength || isEmptyCommand) {
-            throw new EmptyCommandException(command);
-        }
-        Task eventTask = parser.parseEvent(commandParts[1]);
-        taskList.addTask(eventTask);
-        response.append("Got it. I've added this task:\n").append(eventTask);
-        return response.toString();
     }
 
     /**
-     * Handles the "bye" command to exit the application.
+     * Updates the storage file with the changes made to the task list since the last update.
+     * Nothing is written when the last command did not change any task.
      *
-     * @return The exit message.
+     * @throws IOException If an error occurs while writing to the file.
      */
-    public String handleExitCommand() {
-        return "Bye. Hope to see you again soon!";
+    public void updateStorage() throws IOException {
+        storage.persist(taskList);
     }
 
     /**
-     * Updates the storage file with the current tasks.
+     * Writes a final snapshot of the task list so the next session starts without a journal to replay,
+     * then stops background persistence.
      *
      * @throws IOException If an error occurs while writing to the file.
      */
-    public void updateStorage() throws IOException {
-        storage.emptyFile("tasks.txt");
-        storage.saveTasks(taskList.getTasks());
+    public void closeStorage() throws IOException {
+        storage.persist(taskList);
+        if (storage.hasPendingChanges()) {
+            storage.saveTasks(taskList);
+        }
+        storage.close();
     }
 }
@@ -1,28 +1,54 @@
 package nicholas.ui;
 
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
+import nicholas.command.Command;
 import nicholas.exception.EmptyCommandException;
 import nicholas.exception.NotTaskException;
+import nicholas.tasks.TaskListListener;
 
 /**
  * The main class for the Nicholas task manager application.
  * It initializes components, loads tasks, processes user input, and manages tasks.
  */
 public class Nicholas {
+    private GuiResponseHandler guiResponseHandler;
+    private TaskListListener taskListListener;
 
     /**
      * The entry point of the application.
      * It initializes components, loads tasks from file, and processes user commands in a loop.
+     * <p>
+     * Run with {@code --batch [file] [--checkpoint n]} to run a script of commands from the file, or from
+     * standard input if no file is given, through a {@link BatchRunner} instead.
+     * </p>
      *
-     * @param args Command-line arguments (not used).
+     * @param args Command-line arguments, which are only used to ask for batch mode.
      * @throws IOException If an error occurs while reading/writing the task file.
      */
     public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            runBatch(args);
+            return;
+        }
+
         // Initialize components
         UserCommandHandler userCommandHandler = new UserCommandHandler();
+        Thread shutdownHook = new Thread(() -> {
+            try {
+                userCommandHandler.closeStorage();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
 
         // Show greeting message
         userCommandHandler.getGreeting();
@@ -33,19 +59,37 @@ public class Nicholas {
         // Main loop to process user commands
         while (!userInput.equalsIgnoreCase("bye")) {
             try {
-                String[] commandParts = userCommandHandler.getCommandParts(userInput);
-                String command = userCommandHandler.getCommand(commandParts);
-                userCommandHandler.processUserCommand(userInput, commandParts, command);
-            } catch (NotTaskException | EmptyCommandException e) {
+                userCommandHandler.processUserCommand(userInput);
+            } catch (NotTaskException | EmptyCommandException | IllegalArgumentException e) {
                 userCommandHandler.showErrorMessage(e);
             }
             userCommandHandler.updateStorage();
             userInput = scanner.nextLine();
         }
+        userCommandHandler.closeStorage();
+        Runtime.getRuntime().removeShutdownHook(shutdownHook);
         // Show goodbye message
         userCommandHandler.getExitMessage();
     }
 
+    private static void runBatch(String[] args) throws IOException {
+        String scriptPath = "-";
+        int checkpointInterval = 0;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--checkpoint") && i + 1 < args.length) {
+                checkpointInterval = Integer.parseInt(args[++i]);
+            } else {
+                scriptPath = args[i];
+            }
+        }
+        BatchRunner batchRunner = new BatchRunner(new Storage(), checkpointInterval, System.err);
+        try (BufferedReader script = scriptPath.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(scriptPath), StandardCharsets.UTF_8)) {
+            System.out.println(batchRunner.run(script));
+        }
+    }
+
     /**
      * Handles user input, processes commands related to task management, and returns the appropriate GUI response.
      *
@@ -54,24 +98,36 @@ public class Nicholas {
      * It also handles any errors and exceptions during the
      * process, providing an error message when necessary. The method interacts with various classes,
      * including `Ui`, `Storage`, `Parser`, and `TaskList`, and updates the tasks stored in a file.
+     * <p>
+     * The task list is loaded once per session and kept in memory between messages. It is only reloaded
+     * when the task file is changed outside the app, and only the changes each command makes are written.
+     * </p>
      *
      * @param userInput The raw input string from the user, containing the command and any arguments.
      * @return A string response that will be displayed to the user in the GUI
      *     indicating the result of the command or an error message.
      * @throws NotTaskException If an unrecognized command is entered by the user.
      * @throws EmptyCommandException If the user input is missing required arguments or is improperly formatted.
+     * @throws IOException If the task file cannot be read, or the session's tasks cannot be saved over it.
      */
-    public String getGuiResponse(String userInput) throws FileNotFoundException {
-        // Initialize components
-        GuiResponseHandler guiResponseHandler = new GuiResponseHandler();
-        guiResponseHandler.loadTasks();
+    public String getGuiResponse(String userInput) throws IOException {
+        GuiResponseHandler guiResponseHandler = getSession();
+        String notice = guiResponseHandler.takeNotice();
+        String response = respond(guiResponseHandler, userInput);
+        return notice == null ? response : notice + "\n\n" + response;
+    }
+
+    private String respond(GuiResponseHandler guiResponseHandler, String userInput) {
         String response;
         try {
-            String[] commandParts = guiResponseHandler.getCommandParts(userInput);
-            String command = guiResponseHandler.getCommand(commandParts);
-            response = guiResponseHandler.processUserCommand(commandParts, command);
+            Command command = guiResponseHandler.parseCommand(userInput);
+            response = guiResponseHandler.execute(command);
             // Save updated tasks
-            guiResponseHandler.updateStorage();
+            if (command.isExit()) {
+                closeSession();
+            } else {
+                guiResponseHandler.updateStorage();
+            }
         } catch (NotTaskException | EmptyCommandException e) {
             return "Error: " + e.getMessage();
         } catch (Exception e) {
@@ -79,6 +135,58 @@ public class Nicholas {
         }
         return response;
     }
-}
 
+    private GuiResponseHandler getSession() throws IOException {
+        if (guiResponseHandler == null) {
+            openSession();
+        } else {
+            guiResponseHandler.reloadIfChangedExternally();
+        }
+        return guiResponseHandler;
+    }
+
+    /**
+     * Starts the GUI session by loading the tasks, if it has not started yet.
+     * Calling this ahead of the first message takes the load off that message.
+     *
+     * @throws FileNotFoundException If the task file cannot be read.
+     */
+    public void openSession() throws FileNotFoundException {
+        if (guiResponseHandler != null) {
+            return;
+        }
+        GuiResponseHandler handler = new GuiResponseHandler();
+        handler.loadTasks();
+        handler.setTaskListListener(taskListListener);
+        guiResponseHandler = handler;
+    }
 
+    /**
+     * Sets the listener that mirrors the GUI session's task list. It is attached to every session
+     * opened from now on, and is told about the whole list each time the tasks are loaded.
+     * Must be called from the thread that handles messages.
+     *
+     * @param listener The listener to keep informed.
+     */
+    public void setTaskListListener(TaskListListener listener) {
+        taskListListener = listener;
+        if (guiResponseHandler != null) {
+            guiResponseHandler.setTaskListListener(listener);
+        }
+    }
+
+    /**
+     * Saves the GUI session's tasks and stops its background persistence.
+     * The next message starts a new session that loads the tasks again.
+     *
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public void closeSession() throws IOException {
+        if (guiResponseHandler == null) {
+            return;
+        }
+        GuiResponseHandler closingHandler = guiResponseHandler;
+        guiResponseHandler = null;
+        closingHandler.closeStorage();
+    }
+}
@@ -1,13 +1,13 @@
 package nicholas.ui;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 import nicholas.tasks.Deadline;
 import nicholas.tasks.Event;
 import nicholas.tasks.Priority;
 import nicholas.tasks.Task;
+import nicholas.tasks.TaskDates;
 import nicholas.tasks.Todo;
 
 /**
@@ -27,12 +27,26 @@ public class Parser {
 
     /**
      * Parses a string representation of a task and converts it into a Task object.
+     * The record is read in a single pass by {@link TaskRecordParser}.
      *
      * @param input The string representation of the task.
      * @return A Task object (Todo, Deadline, or Event) parsed from the input.
      * @throws IllegalArgumentException If the input format is invalid.
      */
     public Task parseTask(String input) {
+        assert input != null && !input.isEmpty() : "Input string should not be null or empty";
+        return TaskRecordParser.parse(input);
+    }
+
+    /**
+     * Parses a string representation of a task the original way, by splitting it with regular expressions
+     * and going through the user command format. Kept to check {@link TaskRecordParser} against.
+     *
+     * @param input The string representation of the task.
+     * @return A Task object (Todo, Deadline, or Event) parsed from the input.
+     * @throws IllegalArgumentException If the input format is invalid.
+     */
+    public Task parseTaskLegacy(String input) {
         assert input != null && !input.isEmpty() : "Input string should not be null or empty";
         String[] parts = input.split("\\]\\[", 2);
         assert parts.length == 2 : "Input should be in a valid task format";
@@ -129,16 +143,28 @@ public class Parser {
      * @throws IllegalArgumentException If the date format is invalid.
      */
     public String parseDate(String by) {
-        assert by != null && !by.isEmpty() : "Date string should not be null or empty";
-        DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
-        DateTimeFormatter outputFormatter = DateTimeFormatter.ofPattern("MMM dd yyyy HHmm");
+        return formatDate(parseDateTime(by));
+    }
 
-        try {
-            LocalDateTime dateTime = LocalDateTime.parse(by, inputFormatter);
-            return dateTime.format(outputFormatter);
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Invalid date format. Expected: yyyy-MM-dd HHmm", e);
-        }
+    /**
+     * Parses a date string into a date and time.
+     *
+     * @param by The date string in "yyyy-MM-dd HHmm" format.
+     * @return The parsed date and time.
+     * @throws IllegalArgumentException If the date format is invalid.
+     */
+    public LocalDateTime parseDateTime(String by) {
+        return TaskDates.parse(by);
+    }
+
+    /**
+     * Formats a date and time for display.
+     *
+     * @param dateTime The date and time to format.
+     * @return The formatted date string in "MMM dd yyyy HHmm" format.
+     */
+    public String formatDate(LocalDateTime dateTime) {
+        return TaskDates.format(dateTime);
     }
 
     /**
@@ -150,12 +176,8 @@ public class Parser {
      */
     public String reverseParseDate(String by) {
         assert by != null && !by.isEmpty() : "Date string should not be null or empty";
-        DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("MMM dd yyyy HHmm");
-        DateTimeFormatter outputFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
-
         try {
-            LocalDateTime dateTime = LocalDateTime.parse(by, inputFormatter);
-            return dateTime.format(outputFormatter);
+            return LocalDateTime.parse(by, TaskDates.DISPLAY_FORMAT).format(TaskDates.INPUT_FORMAT);
         } catch (DateTimeParseException e) {
             throw new IllegalArgumentException("Invalid date format. Expected: MMM dd yyyy HHmm", e);
         }
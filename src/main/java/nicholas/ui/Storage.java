@@ -1,77 +1,259 @@
 package nicholas.ui;
 
-import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Objects;
 
+import nicholas.storage.Journal;
+import nicholas.storage.JournalOperation;
+import nicholas.storage.LazyRecordList;
+import nicholas.storage.StorageConfig;
+import nicholas.storage.TaskStore;
+import nicholas.storage.TaskStores;
 import nicholas.tasks.Task;
+import nicholas.tasks.TaskChange;
+import nicholas.tasks.TaskList;
 
 /**
  * Handles loading and saving tasks to a file.
+ * <p>
+ * The task file holds a checkpoint snapshot of the whole list, kept in the {@link TaskStore} chosen by the
+ * {@link StorageConfig}. Every mutation after that snapshot is appended to a journal next to it, and the
+ * journal is folded back into a new snapshot once it grows past {@link #CHECKPOINT_THRESHOLD} records.
+ * Journaled changes may be buffered and written in the background. Stores that are not durable, such as
+ * the in-memory one, are not journaled; their snapshot is replaced on every persist instead.
+ * </p>
+ * <p>
+ * Every checkpoint writes the next generation into the snapshot, and the journal names the generation it
+ * was written against. A journal that does not match the snapshot is moved aside instead of replayed, see
+ * {@link #getStaleJournal()}.
+ * </p>
+ * <p>
+ * A snapshot only holds the ids of the tasks that are left. When the tasks with the highest ids were deleted,
+ * the highest id given out is kept in a {@link JournalOperation#RESERVE} record after the checkpoint, so
+ * those ids are not given out again after a restart.
+ * </p>
  */
 public class Storage {
-    private static final String filePath = "tasks.txt";
+    private static final String DEFAULT_FILE_PATH = "tasks.txt";
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final int CHECKPOINT_THRESHOLD = 500;
+
+    private final Journal journal;
+    private final TaskStore savingStore;
+    private TaskStore loadingStore;
+    private String knownVersion;
+    private long knownGeneration;
+    private Path staleJournal;
+
+    /**
+     * Constructs a Storage backed by the default task file, configured by system properties.
+     */
+    public Storage() {
+        this(DEFAULT_FILE_PATH);
+    }
+
+    /**
+     * Constructs a Storage backed by the given task file, configured by system properties.
+     *
+     * @param filePath The path of the task snapshot file.
+     */
+    public Storage(String filePath) {
+        this(filePath, StorageConfig.fromSystemProperties());
+    }
 
     /**
-     * Loads tasks from the specified file.
+     * Constructs a Storage backed by the given task file, keeping snapshots in the configured backend
+     * and writing journaled changes as the configuration describes.
+     *
+     * @param filePath The path of the task snapshot file.
+     * @param config The persistence settings, such as the backend and the durability level.
+     */
+    public Storage(String filePath, StorageConfig config) {
+        this.journal = new Journal(Paths.get(filePath + JOURNAL_SUFFIX), config);
+        this.savingStore = TaskStores.forSaving(filePath, config);
+        this.loadingStore = TaskStores.forLoading(filePath, config, savingStore);
+    }
+
+    /**
+     * Loads tasks from the snapshot and replays any journaled mutations on top of it.
+     * Tasks saved without ids are given them before the journal is replayed, so the ids match the ones
+     * the journaled tasks were given when they were recorded.
      *
      * @return A list of tasks loaded from the file.
      * @throws FileNotFoundException If the file does not exist.
      */
     public List<Task> loadTasks() throws FileNotFoundException {
-        List<Task> tasks = new ArrayList<>();
-        File file = new File(filePath);
-        assert file.exists() : "File should exist before reading";
-        if (!file.exists()) {
-            return tasks;
+        return loadTaskList().getTasks();
+    }
+
+    /**
+     * Loads tasks as {@link #loadTasks()} does, into a task list that also remembers the ids given to
+     * tasks that were deleted, so they are not given out again.
+     *
+     * @return The task list loaded from the file.
+     * @throws FileNotFoundException If the file does not exist.
+     */
+    public TaskList loadTaskList() throws FileNotFoundException {
+        TaskList taskList;
+        try {
+            staleJournal = null;
+            knownVersion = loadingStore.getVersion();
+            knownGeneration = loadingStore.getGeneration();
+            List<Task> tasks = loadingStore.exists() ? loadingStore.load() : new ArrayList<>();
+            if (!(tasks instanceof LazyRecordList)) {
+                // A lazy list gives out ids as it indexes its lines, without parsing every task here.
+                TaskList.assignIds(tasks);
+            }
+            taskList = TaskList.wrap(tasks);
+            if (savingStore.isDurable()) {
+                journal.setSnapshotGeneration(knownGeneration);
+                staleJournal = journal.replay(taskList, new Parser());
+            }
+        } catch (IOException e) {
+            throw new FileNotFoundException("Error reading tasks: " + e.getMessage());
         }
-        Scanner scanner = new Scanner(file);
-        while (scanner.hasNextLine()) {
-            Parser taskParser = new Parser();
-            String line = scanner.nextLine();
-            assert line != null && !line.isEmpty() : "Task line should not be null or empty";
-            tasks.add(taskParser.parseTask(line));
+        return taskList;
+    }
+
+    /**
+     * Persists the changes made to the task list since the last call by appending them to the journal,
+     * and takes a checkpoint once the journal is long enough.
+     * Nothing is written if the task list has not changed.
+     *
+     * @param taskList The task list whose changes should be persisted.
+     * @throws IOException If the changes cannot be written.
+     */
+    public void persist(TaskList taskList) throws IOException {
+        if (!taskList.hasPendingChanges()) {
+            return;
+        }
+        if (!savingStore.isDurable()) {
+            taskList.drainChanges();
+            saveTasks(taskList.getTasks());
+            return;
+        }
+        for (TaskChange change : taskList.drainChanges()) {
+            switch (change.getType()) {
+            case ADDED:
+                journal.append(JournalOperation.ADD, TaskRecordParser.format(change.getTask()));
+                break;
+            case UPDATED:
+                journal.append(JournalOperation.SET,
+                        change.getIndex() + " " + TaskRecordParser.format(change.getTask()));
+                break;
+            case REMOVED:
+                journal.append(JournalOperation.DELETE, String.valueOf(change.getIndex()));
+                break;
+            default:
+                throw new IllegalStateException("Unknown task change: " + change.getType());
+            }
+        }
+        if (isCheckpointDue()) {
+            saveTasks(taskList);
         }
-        scanner.close();
-        return tasks;
     }
 
     /**
-     * Saves tasks to the specified file by appending to it.
+     * Returns whether the journal has grown large enough that it should be folded into a new snapshot.
+     *
+     * @return True if a checkpoint should be taken.
+     */
+    public boolean isCheckpointDue() {
+        return journal.size() >= CHECKPOINT_THRESHOLD;
+    }
+
+    /**
+     * Returns whether there are journaled mutations that are not yet part of the snapshot.
+     *
+     * @return True if the journal holds any records.
+     */
+    public boolean hasPendingChanges() {
+        return journal.size() > 0;
+    }
+
+    /**
+     * Saves tasks as a new checkpoint snapshot and clears the journal.
+     * If the snapshot was loaded from another store, such as the shards left over from before sharding
+     * was switched off, that store is removed once the new snapshot is written.
      *
      * @param tasks The list of tasks to be saved.
-     * @throws FileNotFoundException If the file cannot be found.
+     * @throws IOException If the snapshot cannot be written.
      */
-    public void saveTasks(List<Task> tasks) throws FileNotFoundException {
+    public void saveTasks(List<Task> tasks) throws IOException {
         assert tasks != null : "Tasks list should not be null";
-        try {
-            FileWriter fw = new FileWriter(filePath, true);
-            for (Task task : tasks) {
-                assert tasks != null : "Tasks list should not be null";
-                fw.write(task.toString() + "\n");
-            }
-            fw.close();
-        } catch (IOException e) {
-            e.printStackTrace();
+        long generation = Math.max(knownGeneration, savingStore.getGeneration()) + 1;
+        savingStore.save(tasks, generation);
+        if (loadingStore != savingStore) {
+            loadingStore.delete();
+            loadingStore = savingStore;
+        }
+        knownVersion = savingStore.getVersion();
+        knownGeneration = generation;
+        if (savingStore.isDurable()) {
+            // Until the journal is cleared, its records name the old generation and are not replayed.
+            journal.setSnapshotGeneration(generation);
+            journal.clear();
         }
     }
 
     /**
-     * Empties the contents of the specified file.
+     * Saves the tasks of a task list as {@link #saveTasks(List)} does, and keeps the highest id it gave out
+     * if that task has been deleted. Changes not yet persisted are dropped, since the snapshot holds them.
      *
-     * @param filePath The path of the file to be emptied.
-     * @throws IOException If an error occurs while emptying the file.
+     * @param taskList The task list to be saved.
+     * @throws IOException If the snapshot cannot be written.
      */
-    public static void emptyFile(String filePath) throws IOException {
-        File file = new File(filePath);
-        try (FileWriter writer = new FileWriter(file)) {
-            writer.write(""); // Writing an empty string to truncate the file
-        } catch (IOException e) {
-            throw new IOException("Error occurred while emptying the file: " + filePath, e);
+    public void saveTasks(TaskList taskList) throws IOException {
+        taskList.drainChanges();
+        List<Task> tasks = taskList.getTasks();
+        saveTasks(tasks);
+        long lastSavedId = tasks.isEmpty() ? 0 : tasks.get(tasks.size() - 1).getId();
+        if (savingStore.isDurable() && taskList.getLastId() > lastSavedId) {
+            journal.append(JournalOperation.RESERVE, String.valueOf(taskList.getLastId()));
         }
     }
+
+    /**
+     * Returns whether the snapshot was rewritten outside this storage since it last loaded or saved tasks,
+     * for example by another instance of the app or by editing the task file by hand.
+     *
+     * @return True if the snapshot on disk differs from the one this storage knows about.
+     */
+    public boolean isChangedExternally() {
+        return !Objects.equals(knownVersion, loadingStore.getVersion());
+    }
+
+    /**
+     * Returns where a journal that did not match the snapshot was moved when tasks were last loaded, such as
+     * one written against a snapshot that was since replaced from outside. Its changes are not part of the
+     * loaded tasks.
+     *
+     * @return The path of the journal that was moved aside, or null if none was.
+     */
+    public Path getStaleJournal() {
+        return staleJournal;
+    }
+
+    /**
+     * Writes any journaled changes that are still buffered in memory.
+     *
+     * @throws IOException If the changes cannot be written.
+     */
+    public void flush() throws IOException {
+        journal.flush();
+    }
+
+    /**
+     * Writes any buffered changes and stops background persistence.
+     *
+     * @throws IOException If the changes cannot be written.
+     */
+    public void close() throws IOException {
+        journal.close();
+    }
 }
@@ -0,0 +1,223 @@
+package nicholas.ui;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+import nicholas.tasks.Deadline;
+import nicholas.tasks.Event;
+import nicholas.tasks.Priority;
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskDates;
+import nicholas.tasks.Todo;
+
+/**
+ * Parses stored task records, such as {@code [D][X] submit report (Priority: HIGH) (by: Oct 12 2026 1000)},
+ * in a single pass without regular expressions or intermediate arrays.
+ * <p>
+ * The type and done flag are read from the fixed-width prefix, and the dates and priority from the end of the
+ * record, working backwards. Whatever is left in between is the description, so a description may itself
+ * contain words such as {@code by} or {@code to:}. Dates in the {@code MMM dd yyyy HHmm} format are decoded
+ * straight from the characters of the record. Records written before priorities were added have no priority
+ * and are read as {@link Priority#LOW}.
+ * </p>
+ * <p>
+ * A record may start with the id of the task, such as {@code #12 [T][ ] read book (Priority: LOW)}. Records
+ * written before ids were added have none, and their tasks are read with the id 0.
+ * </p>
+ */
+public class TaskRecordParser {
+    private static final char ID_MARKER = '#';
+    private static final String PRIORITY_MARKER = "(Priority: ";
+    private static final String BY_MARKER = " (by: ";
+    private static final String FROM_MARKER = " (from: ";
+    private static final String TO_MARKER = " to: ";
+    private static final int PREFIX_LENGTH = 6;
+    private static final int DATE_LENGTH = 16;
+    private static final String MONTHS = "JanFebMarAprMayJunJulAugSepOctNovDec";
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    /**
+     * Returns the stored record of a task: its id, if it has one, followed by {@link Task#toString()}.
+     *
+     * @param task The task.
+     * @return The record, such as {@code #12 [T][ ] read book (Priority: LOW)}.
+     */
+    public static String format(Task task) {
+        return task.getId() > 0 ? ID_MARKER + Long.toString(task.getId()) + " " + task : task.toString();
+    }
+
+    /**
+     * Parses a stored task record.
+     *
+     * @param record The record, as written by {@link #format(Task)} or {@link Task#toString()}.
+     * @return The task the record describes.
+     * @throws IllegalArgumentException If the record is not in a valid task format.
+     */
+    public static Task parse(String record) {
+        if (!record.isEmpty() && record.charAt(0) == ID_MARKER) {
+            int idEnd = record.indexOf(' ');
+            long id = parseId(record, idEnd);
+            Task task = parseTask(record.substring(idEnd + 1));
+            task.setId(id);
+            return task;
+        }
+        return parseTask(record);
+    }
+
+    private static Task parseTask(String record) {
+        if (record.length() < PREFIX_LENGTH || record.charAt(0) != '[' || record.charAt(2) != ']'
+                || record.charAt(3) != '[' || record.charAt(5) != ']') {
+            throw new IllegalArgumentException("Invalid task record: " + record);
+        }
+        char type = record.charAt(1);
+        int end = trimEnd(record, record.length());
+        LocalDateTime first = null;
+        LocalDateTime second = null;
+        switch (type) {
+        case 'T':
+            break;
+        case 'D': {
+            int byStart = lastIndexOf(record, BY_MARKER, end);
+            first = parseDate(record, byStart + BY_MARKER.length(), end - 1);
+            end = trimEnd(record, byStart);
+            break;
+        }
+        case 'E': {
+            int fromStart = lastIndexOf(record, FROM_MARKER, end);
+            int toStart = lastIndexOf(record, TO_MARKER, end);
+            if (toStart < fromStart + FROM_MARKER.length()) {
+                throw new IllegalArgumentException("Invalid event format: " + record);
+            }
+            first = parseDate(record, fromStart + FROM_MARKER.length(), toStart);
+            second = parseDate(record, toStart + TO_MARKER.length(), end - 1);
+            end = trimEnd(record, fromStart);
+            break;
+        }
+        default:
+            throw new IllegalArgumentException("Invalid task type: [" + type);
+        }
+
+        Priority priority = Priority.LOW;
+        if (end > PREFIX_LENGTH && record.charAt(end - 1) == ')') {
+            int priorityStart = record.lastIndexOf(PRIORITY_MARKER, end - 1);
+            if (priorityStart >= PREFIX_LENGTH) {
+                priority = parsePriority(record, priorityStart + PRIORITY_MARKER.length(), end - 1);
+                end = trimEnd(record, priorityStart);
+            }
+        }
+        int start = PREFIX_LENGTH;
+        while (start < end && record.charAt(start) <= ' ') {
+            start++;
+        }
+        String description = start < end ? record.substring(start, end) : "";
+
+        Task task;
+        if (type == 'T') {
+            task = new Todo(description);
+        } else if (type == 'D') {
+            task = new Deadline(description, first);
+        } else {
+            task = new Event(description, first, second);
+        }
+        if (record.charAt(4) == 'X') {
+            task.markAsDone();
+        }
+        task.setPriority(priority);
+        return task;
+    }
+
+    /**
+     * Returns where the last occurrence of the marker starts, checking that the record ends with
+     * a closing parenthesis after it.
+     */
+    private static int lastIndexOf(String record, String marker, int end) {
+        int index = end > 0 && record.charAt(end - 1) == ')' ? record.lastIndexOf(marker, end - 1) : -1;
+        if (index < PREFIX_LENGTH) {
+            throw new IllegalArgumentException("Missing '" + marker.trim() + "' in task record: " + record);
+        }
+        return index;
+    }
+
+    private static long parseId(String record, int end) {
+        if (end < 2 || end > 19) {
+            throw new IllegalArgumentException("Invalid task id in task record: " + record);
+        }
+        long id = 0;
+        for (int i = 1; i < end; i++) {
+            char c = record.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid task id in task record: " + record);
+            }
+            id = id * 10 + (c - '0');
+        }
+        if (id == 0) {
+            throw new IllegalArgumentException("Invalid task id in task record: " + record);
+        }
+        return id;
+    }
+
+    private static int trimEnd(String record, int end) {
+        while (end > 0 && record.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static Priority parsePriority(String record, int start, int end) {
+        for (Priority priority : PRIORITIES) {
+            String name = priority.name();
+            if (end - start == name.length() && record.regionMatches(start, name, 0, name.length())) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Invalid priority in task record: " + record);
+    }
+
+    /**
+     * Decodes a {@code MMM dd yyyy HHmm} date. English month names are decoded by hand;
+     * anything else goes through a formatter for the default locale, which is what wrote it.
+     */
+    private static LocalDateTime parseDate(String record, int start, int end) {
+        int month = start + 3 <= end ? monthOf(record, start) : 0;
+        if (end - start == DATE_LENGTH && month != 0 && record.charAt(start + 3) == ' '
+                && record.charAt(start + 6) == ' ' && record.charAt(start + 11) == ' ') {
+            int day = digits(record, start + 4, 2);
+            int year = digits(record, start + 7, 4);
+            int hour = digits(record, start + 12, 2);
+            int minute = digits(record, start + 14, 2);
+            if (day >= 0 && year >= 0 && hour >= 0 && minute >= 0) {
+                try {
+                    return LocalDateTime.of(year, month, day, hour, minute);
+                } catch (DateTimeException e) {
+                    throw new IllegalArgumentException("Invalid date in task record: " + record, e);
+                }
+            }
+        }
+        try {
+            return LocalDateTime.parse(record.substring(start, end), TaskDates.DISPLAY_FORMAT);
+        } catch (DateTimeException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid date in task record: " + record, e);
+        }
+    }
+
+    private static int monthOf(String record, int start) {
+        for (int month = 0; month < 12; month++) {
+            if (record.regionMatches(start, MONTHS, month * 3, 3)) {
+                return month + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static int digits(String record, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = record.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
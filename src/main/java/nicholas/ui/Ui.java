@@ -1,9 +1,15 @@
 package nicholas.ui;
 
+import java.nio.file.Path;
+import java.util.List;
+
 import nicholas.tasks.Task;
+import nicholas.tasks.TimeSlot;
 
 /**
  * Handles user interface interactions, including displaying messages and formatting output.
+ * Lists of tasks show each task with its id, such as {@code 1.#12 [T][ ] read book (Priority: LOW)}, so
+ * the task can be named by an id that does not change as other tasks are deleted.
  */
 public class Ui {
     private static final String LINE = "____________________________________________________________";
@@ -27,6 +33,29 @@ public class Ui {
         System.out.println(LINE);
     }
 
+    /**
+     * Displays a warning that changes from an earlier session were not applied, because they were made to
+     * another version of the task file.
+     *
+     * @param journal The file the changes were kept in.
+     */
+    public void showStaleJournal(Path journal) {
+        System.out.println(LINE);
+        System.out.println(describeStaleJournal(journal));
+        System.out.println(LINE);
+    }
+
+    /**
+     * Returns the warning shown when changes from an earlier session were not applied.
+     *
+     * @param journal The file the changes were kept in.
+     * @return The warning.
+     */
+    static String describeStaleJournal(Path journal) {
+        return "Some changes from an earlier session were made to another version of the task file, so they\n"
+                + "were not applied. They are kept in " + journal + ".";
+    }
+
     /**
      * Displays a message confirming that a task has been added.
      *
@@ -36,7 +65,7 @@ public class Ui {
     public void showTaskAdded(Task task, int taskCount) {
         System.out.println(LINE);
         System.out.println("Got it. I've added this task:");
-        System.out.println(task.toString());
+        System.out.println(TaskRecordParser.format(task));
         System.out.println("Now you have " + taskCount + " tasks in the list");
         System.out.println(LINE);
     }
@@ -49,7 +78,7 @@ public class Ui {
     public void showTaskMarked(Task task) {
         System.out.println(LINE);
         System.out.println("Nice! I've marked this task as done:");
-        System.out.println(task.toString());
+        System.out.println(TaskRecordParser.format(task));
         System.out.println(LINE);
     }
 
@@ -61,7 +90,7 @@ public class Ui {
     public void showTaskUnmarked(Task task) {
         System.out.println(LINE);
         System.out.println("OK, I've marked this task as not done yet:");
-        System.out.println(task.toString());
+        System.out.println(TaskRecordParser.format(task));
         System.out.println(LINE);
     }
 
@@ -76,7 +105,7 @@ public class Ui {
         System.out.println("Here are the tasks in your list:");
         for (int i = 0; i < taskCount; i++) {
             int index = i + 1;
-            System.out.println(index + "." + tasks[i].toString());
+            System.out.println(index + "." + TaskRecordParser.format(tasks[i]));
         }
         System.out.println(LINE);
     }
@@ -90,31 +119,123 @@ public class Ui {
     public void showTaskDeleted(Task task, int taskCount) {
         System.out.println(LINE);
         System.out.println("Noted. I've removed this task:");
-        System.out.println(task.toString());
+        System.out.println(TaskRecordParser.format(task));
         System.out.println("Now you have " + taskCount + " tasks in the list");
         System.out.println(LINE);
     }
 
     /**
-     * Displays a list of tasks that contain a given prefix in their description.
+     * Displays a message confirming that several tasks were changed at once.
      *
-     * @param tasks      An array of Task objects to search through.
-     * @param taskPrefix The prefix to search for in the task descriptions.
-     * @param taskCount  The total number of tasks in the list.
+     * @param summary The message saying how many tasks were changed and how.
      */
-    public void showTaskFind(Task[] tasks, String taskPrefix, int taskCount) {
+    public void showTasksChanged(String summary) {
+        System.out.println(LINE);
+        System.out.println(summary);
+        System.out.println(LINE);
+    }
+
+    /**
+     * Displays a message confirming that several tasks were deleted at once.
+     *
+     * @param deletedCount The number of tasks that were deleted.
+     * @param taskCount The total number of tasks remaining in the list.
+     */
+    public void showTasksDeleted(int deletedCount, int taskCount) {
+        System.out.println(LINE);
+        System.out.println("Noted. I've removed " + deletedCount + " tasks.");
+        System.out.println("Now you have " + taskCount + " tasks in the list");
+        System.out.println(LINE);
+    }
+
+    /**
+     * Displays the tasks that matched a search.
+     *
+     * @param matchingTasks The tasks whose description contains the search text.
+     */
+    public void showTaskFind(List<Task> matchingTasks) {
         System.out.println(LINE);
         System.out.println("Here are the matching tasks in your list:");
-        int matchTaskCount = 1;
-        for (int i = 0; i < taskCount; i++) {
-            if (tasks[i].toString().contains(taskPrefix)) {
-                System.out.println(matchTaskCount + "." + tasks[i].toString());
-                matchTaskCount++;
-            }
+        for (int i = 0; i < matchingTasks.size(); i++) {
+            System.out.println((i + 1) + "." + TaskRecordParser.format(matchingTasks.get(i)));
         }
         System.out.println(LINE);
     }
 
+    /**
+     * Displays the tasks that matched a filter.
+     *
+     * @param matchingTasks The tasks that matched.
+     * @param filter The filter they matched.
+     */
+    public void showTaskFilter(List<Task> matchingTasks, String filter) {
+        System.out.println(LINE);
+        System.out.println("Here are the tasks in your list matching " + filter + ":");
+        for (int i = 0; i < matchingTasks.size(); i++) {
+            System.out.println((i + 1) + "." + TaskRecordParser.format(matchingTasks.get(i)));
+        }
+        System.out.println(LINE);
+    }
+
+    /**
+     * Displays the tasks that fall in a period of time.
+     *
+     * @param tasks The tasks in the period, in time order.
+     * @param period The period, such as {@code due before Nov 01 2026 0000} or {@code overdue}.
+     */
+    public void showTasksDue(List<Task> tasks, String period) {
+        System.out.println(LINE);
+        System.out.println(tasks.isEmpty() ? "There are no tasks " + period + "."
+                : "Here are the tasks " + period + ":");
+        for (int i = 0; i < tasks.size(); i++) {
+            System.out.println((i + 1) + "." + TaskRecordParser.format(tasks.get(i)));
+        }
+        System.out.println(LINE);
+    }
+
+    /**
+     * Displays a warning that a newly added event overlaps events already in the list.
+     *
+     * @param conflicts The events it overlaps.
+     */
+    public void showEventConflicts(List<Task> conflicts) {
+        System.out.println(LINE);
+        System.out.println("Heads up! This event overlaps " + conflicts.size() + " other event(s):");
+        for (int i = 0; i < conflicts.size(); i++) {
+            System.out.println((i + 1) + "." + TaskRecordParser.format(conflicts.get(i)));
+        }
+        System.out.println(LINE);
+    }
+
+    /**
+     * Displays the free slots found between events.
+     *
+     * @param freeSlots The free slots, earliest first.
+     * @param query The length and period that were searched.
+     */
+    public void showFreeSlots(List<TimeSlot> freeSlots, String query) {
+        System.out.println(LINE);
+        System.out.println(freeSlots.isEmpty() ? "There is no free slot of " + query + "."
+                : "Here are the free slots of " + query + ":");
+        for (int i = 0; i < freeSlots.size(); i++) {
+            System.out.println((i + 1) + "." + freeSlots.get(i).toString());
+        }
+        System.out.println(LINE);
+    }
+
+    /**
+     * Displays how many tasks matched a filter.
+     *
+     * @param count The number of matching tasks.
+     * @param filter The filter they matched, or an empty string if every task was counted.
+     */
+    public void showTaskCount(int count, String filter) {
+        System.out.println(LINE);
+        System.out.println(filter.isEmpty() ? "You have " + count + " tasks in the list."
+                : "You have " + count + " tasks matching " + filter + ".");
+        System.out.println(LINE);
+    }
+
     /**
      * Displays a message confirming that a task's priority has been upgraded.
      *
@@ -123,7 +244,7 @@ public class Ui {
     public void showTaskUpgraded(Task task) {
         System.out.println(LINE);
         System.out.println("OK, I've upgraded this task:");
-        System.out.println(task.toString());
+        System.out.println(TaskRecordParser.format(task));
         System.out.println(LINE);
     }
 
@@ -135,7 +256,7 @@ public class Ui {
     public void showTaskDowngraded(Task task) {
         System.out.println(LINE);
         System.out.println("OK, I've downgraded this task:");
-        System.out.println(task.toString());
+        System.out.println(TaskRecordParser.format(task));
         System.out.println(LINE);
     }
 
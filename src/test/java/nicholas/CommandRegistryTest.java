@@ -0,0 +1,189 @@
+package nicholas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import nicholas.command.Command;
+import nicholas.command.CommandRegistry;
+import nicholas.command.CommandResult;
+import nicholas.command.DeleteCommand;
+import nicholas.command.MarkCommand;
+import nicholas.exception.EmptyCommandException;
+import nicholas.exception.NotTaskException;
+import nicholas.tasks.TaskList;
+
+public class CommandRegistryTest {
+
+    @Test
+    void testParsesTypedCommands() throws Exception {
+        CommandRegistry registry = CommandRegistry.withDefaultCommands();
+        Command mark = registry.parse("MARK 3");
+        assertTrue(mark instanceof MarkCommand);
+        assertEquals(2, ((MarkCommand) mark).getIndex());
+        assertTrue(registry.parse("bye").isExit());
+
+        assertThrows(NotTaskException.class, () -> registry.parse("blah"));
+        assertThrows(EmptyCommandException.class, () -> registry.parse("todo   "));
+        assertThrows(EmptyCommandException.class, () -> registry.parse("deadline /by 2026-10-20 1200"));
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("deadline essay"));
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("event trip /from 2026-10-20 1200"));
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("delete two"));
+    }
+
+    @Test
+    void testReplaysParsedCommands() throws Exception {
+        CommandRegistry registry = CommandRegistry.withDefaultCommands();
+        List<Command> commands = new ArrayList<>();
+        for (String input : new String[] {"todo read book", "deadline essay /by 2026-10-20 1200",
+                "event trip /from 2026-10-21 0900 /to 2026-10-22 1800", "mark 2", "upgrade 1"}) {
+            commands.add(registry.parse(input));
+        }
+
+        TaskList first = new TaskList();
+        TaskList second = new TaskList();
+        for (Command command : commands) {
+            command.execute(first);
+            command.execute(second);
+        }
+        assertEquals(first.getTasks().toString(), second.getTasks().toString());
+        assertEquals("[D][X] essay (Priority: LOW) (by: Oct 20 2026 1200)", first.getTasks().get(1).toString());
+
+        CommandResult found = registry.parse("find BOO").execute(first);
+        assertEquals(CommandResult.Kind.FOUND, found.getKind());
+        assertEquals(1, found.getTasks().size());
+        assertEquals("[T][ ] read book (Priority: MEDIUM)", found.getTask().toString());
+        assertEquals(0, registry.parse("find ook").execute(first).getTasks().size());
+        assertEquals(1, registry.parse("find \"ook\"").execute(first).getTasks().size());
+        assertEquals(2, registry.parse("find essay | trip").execute(first).getTasks().size());
+    }
+
+    @Test
+    void testBulkCommands() throws Exception {
+        CommandRegistry registry = CommandRegistry.withDefaultCommands();
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 12; i++) {
+            registry.parse(i % 2 == 0 ? "todo task " + i : "deadline task " + i + " /by 2026-10-20 1200")
+                    .execute(taskList);
+        }
+
+        CommandResult marked = registry.parse("mark 1-4, 9").execute(taskList);
+        assertTrue(marked.isBulkChange());
+        assertEquals(5, marked.getTasks().size());
+        assertEquals(4, registry.parse("upgrade done:false type:T").execute(taskList).getTasks().size());
+
+        CommandResult deleted = registry.parse("delete done:true").execute(taskList);
+        assertEquals(5, deleted.getTasks().size());
+        assertEquals(7, taskList.size());
+        assertEquals("[D][ ] task 5 (Priority: LOW) (by: Oct 20 2026 1200)", taskList.getTasks().get(0).toString());
+        assertEquals("[T][ ] task 6 (Priority: MEDIUM)", taskList.getTasks().get(1).toString());
+
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("delete 1-8").execute(taskList));
+        assertEquals(7, taskList.size());
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("mark priority:URGENT"));
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("mark 5-2"));
+    }
+
+    @Test
+    void testTaskIdsNameTheSameTaskAfterDeletes() throws Exception {
+        CommandRegistry registry = CommandRegistry.withDefaultCommands();
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 6; i++) {
+            registry.parse("todo task " + i).execute(taskList);
+        }
+        Command markById = registry.parse("mark #5");
+        assertTrue(((MarkCommand) markById).getReference().isId());
+        assertEquals(-1, ((MarkCommand) markById).getIndex());
+
+        registry.parse("delete 1").execute(taskList);
+        registry.parse("delete #3").execute(taskList);
+        assertEquals("[T][X] task 5 (Priority: LOW)", markById.execute(taskList).getTask().toString());
+        assertEquals(4, taskList.size());
+
+        CommandResult upgraded = registry.parse("upgrade #2, 4").execute(taskList);
+        assertEquals(List.of(taskList.getTaskById(2), taskList.getTaskById(6)), upgraded.getTasks());
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("unmark #3").execute(taskList));
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("delete #x"));
+        assertFalse(((DeleteCommand) registry.parse("delete 0")).getReference().isId());
+        IllegalArgumentException zero = assertThrows(IllegalArgumentException.class, () ->
+                registry.parse("delete 0").execute(taskList));
+        assertTrue(zero.getMessage().startsWith("Invalid task number: 0."));
+    }
+
+    @Test
+    void testFilteredListAndCount() throws Exception {
+        CommandRegistry registry = CommandRegistry.withDefaultCommands();
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 6; i++) {
+            registry.parse(i % 2 == 0 ? "todo task " + i : "deadline task " + i + " /by 2026-10-20 1200")
+                    .execute(taskList);
+        }
+        registry.parse("mark 1,2").execute(taskList);
+        registry.parse("upgrade 3-6").execute(taskList);
+
+        CommandResult listed = registry.parse("list done:false priority:medium type:D").execute(taskList);
+        assertEquals(CommandResult.Kind.FILTERED, listed.getKind());
+        assertEquals("done:false priority:MEDIUM type:D", listed.getQuery());
+        assertEquals(List.of(taskList.getTasks().get(2), taskList.getTasks().get(4)), listed.getTasks());
+        assertEquals(CommandResult.Kind.LISTED, registry.parse("list").execute(taskList).getKind());
+
+        assertEquals(6, registry.parse("count").execute(taskList).getTaskCount());
+        assertEquals(4, registry.parse("count done:false").execute(taskList).getTaskCount());
+        registry.parse("delete 3").execute(taskList);
+        assertEquals(1, registry.parse("count done:false type:D").execute(taskList).getTaskCount());
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("count done:true done:false"));
+    }
+
+    @Test
+    void testDueAndOverdue() throws Exception {
+        CommandRegistry registry = CommandRegistry.withDefaultCommands();
+        TaskList taskList = new TaskList();
+        registry.parse("deadline old report /by 2000-01-01 1200").execute(taskList);
+        registry.parse("deadline essay /by 2999-10-20 1200").execute(taskList);
+        registry.parse("event trip /from 2999-10-19 0900 /to 2999-10-21 1800").execute(taskList);
+
+        CommandResult due = registry.parse("due before 2999-10-20 1200").execute(taskList);
+        assertEquals(CommandResult.Kind.SCHEDULED, due.getKind());
+        assertEquals("due before Oct 20 2999 1200", due.getQuery());
+        assertEquals(2, due.getTasks().size());
+        assertEquals(2, registry.parse("due between 2999-01-01 0000 and 2999-12-31 0000").execute(taskList)
+                .getTasks().size());
+        assertEquals(List.of(taskList.getTasks().get(0)), registry.parse("overdue").execute(taskList).getTasks());
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("due after 2999-10-20 1200"));
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("due before tomorrow"));
+        assertThrows(EmptyCommandException.class, () -> registry.parse("due"));
+    }
+
+    @Test
+    void testEventConflictsAndFreeSlots() throws Exception {
+        CommandRegistry registry = CommandRegistry.withDefaultCommands();
+        TaskList taskList = new TaskList();
+        registry.parse("event standup /from 2026-10-20 0900 /to 2026-10-20 1000").execute(taskList);
+        registry.parse("event review /from 2026-10-20 1300 /to 2026-10-20 1500").execute(taskList);
+
+        CommandResult added = registry.parse("event lunch /from 2026-10-20 0930 /to 2026-10-20 1330").execute(taskList);
+        assertEquals(List.of(taskList.getTasks().get(0), taskList.getTasks().get(1)), added.getConflicts());
+        assertEquals(List.of(), registry.parse("event call /from 2026-10-20 1500 /to 2026-10-20 1600")
+                .execute(taskList).getConflicts());
+
+        CommandResult free = registry.parse("free 1h30m between 2026-10-20 0800 and 2026-10-20 1800")
+                .execute(taskList);
+        assertEquals(CommandResult.Kind.FREE_SLOTS, free.getKind());
+        assertEquals("1h30m between Oct 20 2026 0800 and Oct 20 2026 1800", free.getQuery());
+        assertEquals(1, free.getFreeSlots().size());
+        assertEquals("Oct 20 2026 1600 to Oct 20 2026 1800", free.getFreeSlots().get(0).toString());
+        assertEquals(0, registry.parse("free 1d between 2026-10-20 0800 and 2026-10-20 1800").execute(taskList)
+                .getFreeSlots().size());
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("free soon between 2026-10-20 0800 "
+                + "and 2026-10-20 1800"));
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("free 0m between 2026-10-20 0800 "
+                + "and 2026-10-20 1800"));
+        assertThrows(IllegalArgumentException.class, () -> registry.parse("free 2h"));
+    }
+}
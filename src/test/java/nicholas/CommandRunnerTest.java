@@ -0,0 +1,94 @@
+package nicholas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import nicholas.gui.CommandRunner;
+
+public class CommandRunnerTest {
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final int COMMAND_COUNT = 50;
+
+    @Test
+    void testResultsAreShownInSubmitOrder() throws InterruptedException {
+        // Stands in for the JavaFX application thread.
+        ExecutorService resultThread = Executors.newSingleThreadExecutor();
+        CommandRunner runner = new CommandRunner(resultThread);
+        Thread caller = Thread.currentThread();
+        AtomicBoolean ranOnCaller = new AtomicBoolean();
+        List<Integer> shown = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < COMMAND_COUNT; i++) {
+            int command = i;
+            expected.add(command);
+            runner.submit(() -> {
+                if (Thread.currentThread() == caller) {
+                    ranOnCaller.set(true);
+                }
+                if (command % 7 == 0) {
+                    sleep(5);
+                }
+                return () -> shown.add(command);
+            });
+        }
+        assertTrue(runner.shutdown(TIMEOUT_SECONDS));
+        resultThread.shutdown();
+        assertTrue(resultThread.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(ranOnCaller.get());
+        assertEquals(expected, shown);
+    }
+
+    @Test
+    void testSubmitDoesNotWaitForTheCommand() throws InterruptedException {
+        CommandRunner runner = new CommandRunner(Runnable::run);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch shown = new CountDownLatch(1);
+        runner.submit(() -> {
+            await(release);
+            return shown::countDown;
+        });
+        // Reaching this line while the command is still blocked shows submit returned straight away.
+        assertEquals(1, shown.getCount());
+        release.countDown();
+        assertTrue(shown.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(runner.shutdown(TIMEOUT_SECONDS));
+    }
+
+    @Test
+    void testShutdownWaitsForQueuedWork() {
+        CommandRunner runner = new CommandRunner(Runnable::run);
+        AtomicBoolean isSaved = new AtomicBoolean();
+        runner.execute(() -> sleep(100));
+        runner.execute(() -> isSaved.set(true));
+        assertTrue(runner.shutdown(TIMEOUT_SECONDS));
+        assertTrue(isSaved.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
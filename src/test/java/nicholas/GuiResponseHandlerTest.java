@@ -0,0 +1,82 @@
+package nicholas;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nicholas.tasks.Task;
+import nicholas.ui.GuiResponseHandler;
+import nicholas.ui.Storage;
+
+public class GuiResponseHandlerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSessionKeepsTasksBetweenMessages() throws Exception {
+        Path taskFile = tempDir.resolve("tasks.txt");
+        Files.write(taskFile, List.of("GENERATION 1", "#1 [T][ ] read books (Priority: LOW)"));
+        GuiResponseHandler handler = new GuiResponseHandler(new Storage(taskFile.toString()));
+        handler.loadTasks();
+
+        // A command only journals its change, so the snapshot is left as it was.
+        byte[] snapshot = Files.readAllBytes(taskFile);
+        handler.execute(handler.parseCommand("todo borrow books"));
+        handler.updateStorage();
+        assertArrayEquals(snapshot, Files.readAllBytes(taskFile));
+        assertTrue(Files.exists(tempDir.resolve("tasks.txt.journal")));
+
+        // A rewrite the file metadata does not show is not read, since the tasks stay in memory.
+        FileTime modified = Files.getLastModifiedTime(taskFile);
+        Files.write(taskFile, List.of("GENERATION 1", "#1 [T][ ] lost books (Priority: LOW)"));
+        Files.setLastModifiedTime(taskFile, modified);
+        assertFalse(handler.reloadIfChangedExternally());
+        String list = handler.execute(handler.parseCommand("list"));
+        assertTrue(list.contains("read books"));
+        assertTrue(list.contains("borrow books"));
+
+        handler.closeStorage();
+        List<Task> saved = new Storage(taskFile.toString()).loadTasks();
+        assertEquals("[[T][ ] read books (Priority: LOW), [T][ ] borrow books (Priority: LOW)]", saved.toString());
+        assertFalse(Files.exists(tempDir.resolve("tasks.txt.journal")));
+    }
+
+    @Test
+    void testReloadAfterExternalEdit() throws Exception {
+        Path taskFile = tempDir.resolve("tasks.txt");
+        GuiResponseHandler handler = new GuiResponseHandler(new Storage(taskFile.toString()));
+        handler.loadTasks();
+        handler.execute(handler.parseCommand("todo read books"));
+        handler.updateStorage();
+
+        // The journaled todo was written against the old snapshot, so the session is kept and saved over it.
+        Files.write(taskFile, List.of("GENERATION 1", "#1 [T][ ] outside edit (Priority: LOW)"));
+        Files.setLastModifiedTime(taskFile, FileTime.fromMillis(0));
+        assertFalse(handler.reloadIfChangedExternally());
+        assertNotNull(handler.takeNotice());
+        assertTrue(handler.execute(handler.parseCommand("list")).contains("read books"));
+        List<Task> saved = new Storage(taskFile.toString()).loadTasks();
+        assertEquals(1, saved.size());
+        assertEquals("read books", saved.get(0).getDescription());
+
+        // With every change in the snapshot, the outside edit is loaded.
+        Files.write(taskFile, List.of("GENERATION 5", "#1 [T][ ] outside edit (Priority: LOW)"));
+        Files.setLastModifiedTime(taskFile, FileTime.fromMillis(1000));
+        assertTrue(handler.reloadIfChangedExternally());
+        assertNull(handler.takeNotice());
+        String list = handler.execute(handler.parseCommand("list"));
+        assertTrue(list.contains("outside edit"));
+        assertFalse(list.contains("read books"));
+    }
+}
@@ -0,0 +1,105 @@
+package nicholas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nicholas.storage.Durability;
+import nicholas.storage.Journal;
+import nicholas.storage.JournalOperation;
+import nicholas.storage.StorageConfig;
+
+public class JournalTest {
+    private static final long WAIT_MILLIS = 5000;
+    private static final String RECORD = "#1 [T][ ] read books (Priority: LOW)";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSyncIsTheDefault() {
+        assertEquals(Durability.SYNC, StorageConfig.defaults().getDurability());
+    }
+
+    @Test
+    void testGroupCommitWritesOnceTheBatchIsFull() throws Exception {
+        Path path = tempDir.resolve("tasks.txt.journal");
+        Journal journal = new Journal(path, groupCommit(60000, 3));
+        journal.append(JournalOperation.ADD, RECORD);
+        journal.append(JournalOperation.ADD, RECORD);
+        Thread.sleep(100);
+        assertFalse(Files.exists(path));
+
+        journal.append(JournalOperation.ADD, RECORD);
+        assertTrue(waitForRecords(path, 3));
+        journal.close();
+    }
+
+    @Test
+    void testGroupCommitWritesOnceTheWaitIsOver() throws Exception {
+        Path path = tempDir.resolve("tasks.txt.journal");
+        Journal journal = new Journal(path, groupCommit(50, 1000));
+        journal.append(JournalOperation.ADD, RECORD);
+        assertTrue(waitForRecords(path, 1));
+        journal.close();
+    }
+
+    @Test
+    void testOnExitWritesOnClose() throws IOException {
+        Path path = tempDir.resolve("tasks.txt.journal");
+        Journal journal = new Journal(path, StorageConfig.defaults().withDurability(Durability.ON_EXIT));
+        journal.append(JournalOperation.ADD, RECORD);
+        journal.append(JournalOperation.DELETE, "0");
+        assertFalse(Files.exists(path));
+
+        journal.close();
+        assertEquals(List.of("BASE 0", "ADD " + RECORD, "DELETE 0"), Files.readAllLines(path));
+    }
+
+    @Test
+    void testBackgroundFlushFailureIsReportedLater() throws Exception {
+        // The journal's directory does not exist, so every write fails.
+        Path path = tempDir.resolve("missing").resolve("tasks.txt.journal");
+        Journal journal = new Journal(path, groupCommit(10, 1000));
+        IOException failure = null;
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (failure == null && System.currentTimeMillis() < deadline) {
+            try {
+                journal.append(JournalOperation.ADD, RECORD);
+                Thread.sleep(20);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        assertNotNull(failure);
+        assertSame(failure, assertThrows(IOException.class, journal::flush));
+        assertSame(failure, assertThrows(IOException.class, journal::close));
+    }
+
+    private static StorageConfig groupCommit(long millis, int size) {
+        return StorageConfig.defaults().withDurability(Durability.GROUP_COMMIT).withGroupCommit(millis, size);
+    }
+
+    private static boolean waitForRecords(Path path, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            // The header line comes before the records.
+            if (Files.exists(path) && Files.readAllLines(path).size() == count + 1) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}
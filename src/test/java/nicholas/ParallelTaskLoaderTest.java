@@ -0,0 +1,49 @@
+package nicholas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nicholas.storage.LoadMode;
+import nicholas.storage.ParallelTaskLoader;
+import nicholas.storage.TextTaskStore;
+import nicholas.tasks.Task;
+
+public class ParallelTaskLoaderTest {
+    private static final int TASK_COUNT = 20000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testMatchesSerialLoad() throws IOException {
+        // Lines of many lengths, so the chunk boundaries land inside lines and inside multibyte characters.
+        StringBuilder text = new StringBuilder("GENERATION 1\r\n");
+        for (int i = 0; i < TASK_COUNT; i++) {
+            if (i > 0) {
+                text.append("\r\n");
+            }
+            text.append('#').append(i + 1).append(" [T][").append(i % 3 == 0 ? 'X' : ' ').append("] task ")
+                    .append(i).append(" \u6f22".repeat(i % 7)).append(" (Priority: LOW)");
+        }
+        Path taskFile = tempDir.resolve("tasks.txt");
+        Files.write(taskFile, text.toString().getBytes(StandardCharsets.UTF_8));
+
+        List<Task> parallel = new ArrayList<>();
+        new ParallelTaskLoader(new ForkJoinPool(4)).load(taskFile, parallel::add);
+        List<Task> serial = new TextTaskStore(taskFile, LoadMode.SEQUENTIAL).load();
+        assertEquals(TASK_COUNT, parallel.size());
+        assertEquals(serial.toString(), parallel.toString());
+        assertEquals("[T][ ] task 4 \u6f22 \u6f22 \u6f22 \u6f22 (Priority: LOW)", parallel.get(4).toString());
+        assertEquals("[T][ ] task " + (TASK_COUNT - 1) + " (Priority: LOW)", parallel.get(TASK_COUNT - 1).toString());
+    }
+}
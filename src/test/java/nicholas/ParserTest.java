@@ -2,6 +2,10 @@ package nicholas;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 import nicholas.ui.Parser;
 import nicholas.tasks.Deadline;
@@ -31,5 +35,21 @@ public class ParserTest {
         assertEquals(new Deadline("assignment", "2002-10-12 1500").toString(), deadlineTask.toString());
     }
 
+    @Test
+    void testDateMinutes() {
+        Deadline deadline = new Deadline("assignment", "2002-10-12 1500");
+        Event event = new Event("something", "2002-10-12 1459", "2002-10-12 1501");
+        assertTrue(event.getFromMinute() < deadline.getByMinute());
+        assertTrue(deadline.getByMinute() < event.getToMinute());
+        assertEquals(2, event.getToMinute() - event.getFromMinute());
+        assertEquals(LocalDateTime.of(2002, 10, 12, 15, 0).toEpochSecond(ZoneOffset.UTC) / 60,
+                deadline.getByMinute());
+        assertEquals(LocalDateTime.of(2002, 10, 12, 14, 59).toEpochSecond(ZoneOffset.UTC) / 60,
+                event.getFromMinute());
+        assertEquals("[D][ ] assignment (Priority: LOW) (by: Oct 12 2002 1500)", deadline.toString());
+        assertEquals("[E][ ] something (Priority: LOW) (from: Oct 12 2002 1459 to: Oct 12 2002 1501)",
+                event.toString());
+    }
+
 
 }
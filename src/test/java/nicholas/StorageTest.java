@@ -0,0 +1,379 @@
+package nicholas;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nicholas.storage.BinaryTaskFile;
+import nicholas.storage.BinaryTaskStore;
+import nicholas.storage.LazyRecordList;
+import nicholas.storage.LoadMode;
+import nicholas.storage.ShardScheme;
+import nicholas.storage.SingleReadBinaryTaskStore;
+import nicholas.storage.StorageBackend;
+import nicholas.storage.StorageConfig;
+import nicholas.storage.StorageConverter;
+import nicholas.storage.StorageFormat;
+import nicholas.tasks.Deadline;
+import nicholas.tasks.Event;
+import nicholas.tasks.Priority;
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskList;
+import nicholas.tasks.Todo;
+import nicholas.ui.BatchRunner;
+import nicholas.ui.Storage;
+
+public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testJournalReplay() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filePath);
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("read books"));
+        taskList.addTask(new Todo("borrow books"));
+        storage.persist(taskList);
+        taskList.markTaskAsDone(1);
+        taskList.upgradeTask(1);
+        taskList.deleteTask(0);
+        storage.persist(taskList);
+        storage.close();
+
+        List<Task> tasks = new Storage(filePath).loadTasks();
+        assertEquals(1, tasks.size());
+        assertEquals("[T][X] borrow books (Priority: MEDIUM)", tasks.get(0).toString());
+    }
+
+    @Test
+    void testJournalSurvivesCrashes() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Path journal = tempDir.resolve("tasks.txt.journal");
+        Storage storage = new Storage(filePath);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        taskList.addTask(new Todo("read books"));
+        taskList.addTask(new Todo("borrow books"));
+        storage.persist(taskList);
+        storage.flush();
+        byte[] journalBeforeCheckpoint = Files.readAllBytes(journal);
+        storage.saveTasks(taskList.getTasks());
+        // A crash after the checkpoint is written but before the journal is cleared leaves the journal behind.
+        Files.write(journal, journalBeforeCheckpoint);
+        Storage reloaded = new Storage(filePath);
+        assertEquals(2, reloaded.loadTasks().size());
+        assertFalse(Files.exists(journal));
+        assertArrayEquals(journalBeforeCheckpoint, Files.readAllBytes(reloaded.getStaleJournal()));
+
+        Files.write(journal, "ADD #3 [T][ ] ret".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        storage = new Storage(filePath);
+        taskList = TaskList.wrap(storage.loadTasks());
+        assertEquals(2, taskList.size());
+        taskList.addTask(new Todo("return books"));
+        storage.persist(taskList);
+        storage.close();
+        List<Task> tasks = new Storage(filePath).loadTasks();
+        assertEquals(3, tasks.size());
+        assertEquals("[T][ ] return books (Priority: LOW)", tasks.get(2).toString());
+    }
+
+    @Test
+    void testCheckpointClearsJournal() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filePath);
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("read books"));
+        storage.persist(taskList);
+        assertTrue(storage.hasPendingChanges());
+
+        storage.saveTasks(storage.loadTasks());
+        assertFalse(storage.hasPendingChanges());
+        assertFalse(Files.exists(tempDir.resolve("tasks.txt.journal")));
+        assertEquals(List.of("GENERATION 1", "#1 [T][ ] read books (Priority: LOW)"),
+                Files.readAllLines(tempDir.resolve("tasks.txt")));
+    }
+
+    @Test
+    void testTouchingTheSnapshotKeepsTheJournal() throws IOException {
+        Path taskFile = tempDir.resolve("tasks.txt");
+        Storage storage = new Storage(taskFile.toString());
+        TaskList taskList = storage.loadTaskList();
+        taskList.addTask(new Todo("read books"));
+        storage.saveTasks(taskList);
+        taskList.addTask(new Todo("borrow books"));
+        storage.persist(taskList);
+        storage.close();
+
+        // Copying the file back with its contents unchanged, as a backup restore or sync tool might.
+        Files.write(taskFile, Files.readAllBytes(taskFile));
+        Files.setLastModifiedTime(taskFile, FileTime.fromMillis(0));
+        Storage reloaded = new Storage(taskFile.toString());
+        assertEquals(2, reloaded.loadTasks().size());
+        assertNull(reloaded.getStaleJournal());
+        assertTrue(reloaded.hasPendingChanges());
+    }
+
+    @Test
+    void testBinaryRoundTrip() throws IOException {
+        String textPath = tempDir.resolve("tasks.txt").toString();
+        String binaryPath = tempDir.resolve("tasks.bin").toString();
+        Task deadline = new Deadline("assignment", "2002-10-12 1500");
+        deadline.markAsDone();
+        deadline.setPriority(Priority.HIGH);
+        List<Task> tasks = List.of(new Todo("read books"), deadline,
+                new Event("something", "2002-10-10 1600", "2002-10-11 1600"));
+        new Storage(textPath).saveTasks(tasks);
+
+        StorageConverter.convert(textPath, binaryPath, StorageBackend.BINARY_SINGLE_READ);
+        assertEquals(StorageFormat.BINARY, StorageFormat.detect(Path.of(binaryPath), StorageFormat.TEXT));
+        List<Task> loaded = new Storage(binaryPath).loadTasks();
+        assertEquals(tasks.toString(), loaded.toString());
+        StorageConfig singleRead = StorageConfig.defaults().withBackend(StorageBackend.BINARY_SINGLE_READ);
+        assertEquals(tasks.toString(), new Storage(binaryPath, singleRead).loadTasks().toString());
+
+        String compressedPath = tempDir.resolve("tasks.gz").toString();
+        StorageConverter.convert(binaryPath, compressedPath, StorageBackend.GZIP);
+        assertEquals(StorageFormat.GZIP, StorageFormat.detect(Path.of(compressedPath), StorageFormat.TEXT));
+        assertEquals(tasks.toString(), new Storage(compressedPath).loadTasks().toString());
+    }
+
+    @Test
+    void testCorruptBinaryPriorityIsReported() throws IOException {
+        Path binaryPath = tempDir.resolve("tasks.bin");
+        BinaryTaskFile.save(binaryPath, List.of(new Todo("read books")), 1);
+        byte[] bytes = Files.readAllBytes(binaryPath);
+        // The priority follows the 14-byte header and the task's type and flags bytes.
+        bytes[16] = 9;
+        Files.write(binaryPath, bytes);
+        assertThrows(IOException.class, () -> new BinaryTaskStore(binaryPath).load());
+        assertThrows(IOException.class, () -> new SingleReadBinaryTaskStore(binaryPath).load());
+    }
+
+    @Test
+    void testShardedSaveKeepsOrder() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        StorageConfig config = StorageConfig.defaults().withSharding(ShardScheme.TYPE, 1, 1);
+        Storage storage = new Storage(filePath, config);
+        List<Task> tasks = new ArrayList<>(List.of(new Todo("read books"),
+                new Deadline("assignment", "2002-10-12 1500"), new Todo("borrow books")));
+        storage.saveTasks(tasks);
+        Path shards = tempDir.resolve("tasks.txt.shards");
+        assertEquals(List.of("#1 [T][ ] read books (Priority: LOW)", "#3 [T][ ] borrow books (Priority: LOW)"),
+                Files.readAllLines(shardFile(shards, "T")));
+        Path deadlineShard = shardFile(shards, "D");
+
+        tasks.remove(1);
+        tasks.add(new Event("something", "2002-10-10 1600", "2002-10-11 1600"));
+        storage.saveTasks(tasks);
+        assertNull(shardFile(shards, "D"));
+        assertFalse(Files.exists(deadlineShard));
+        assertEquals(tasks.toString(), new Storage(filePath).loadTasks().toString());
+    }
+
+    @Test
+    void testShardedSaveRewritesOnlyTheReplacedTasksShard() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        StorageConfig config = StorageConfig.defaults().withSharding(ShardScheme.PERIOD, 1, 10);
+        Storage storage = new Storage(filePath, config);
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 40; i++) {
+            taskList.addTask(new Todo("task " + i));
+        }
+        storage.saveTasks(taskList.getTasks());
+        Path shards = tempDir.resolve("tasks.txt.shards");
+        List<Path> before = new ArrayList<>();
+        for (String key : List.of("0", "1", "2", "3", "4")) {
+            before.add(shardFile(shards, key));
+        }
+
+        Todo replacement = new Todo("replacement");
+        replacement.markAsDone();
+        taskList.replaceTask(5, replacement);
+        storage.saveTasks(taskList.getTasks());
+        List<String> rewritten = new ArrayList<>();
+        for (String key : List.of("0", "1", "2", "3", "4")) {
+            if (!shardFile(shards, key).equals(before.get(Integer.parseInt(key)))) {
+                rewritten.add(key);
+            }
+        }
+        assertEquals(List.of("0"), rewritten);
+        assertEquals(taskList.getTasks().toString(), new Storage(filePath, config).loadTasks().toString());
+    }
+
+    @Test
+    void testShardedSaveIgnoresWritesItDidNotFinish() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        StorageConfig config = StorageConfig.defaults().withSharding(ShardScheme.TYPE, 1, 1);
+        Storage storage = new Storage(filePath, config);
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("read books"));
+        storage.saveTasks(taskList.getTasks());
+
+        // A save that appended to a shard and wrote a new one, but crashed before replacing the manifest.
+        Path shards = tempDir.resolve("tasks.txt.shards");
+        Files.write(shardFile(shards, "T"), List.of("#2 [T][ ] half saved (Priority: LOW)"),
+                StandardOpenOption.APPEND);
+        Path orphan = shards.resolve("shard-D-9.txt");
+        Files.write(orphan, List.of("#3 [D][ ] half saved (by: Oct 12 2002, 3:00 pm) (Priority: LOW)"));
+        assertEquals(taskList.getTasks().toString(), new Storage(filePath, config).loadTasks().toString());
+
+        taskList.addTask(new Todo("borrow books"));
+        storage.saveTasks(taskList.getTasks());
+        assertFalse(Files.exists(orphan));
+        assertEquals(List.of("#1 [T][ ] read books (Priority: LOW)", "#2 [T][ ] borrow books (Priority: LOW)"),
+                Files.readAllLines(shardFile(shards, "T")));
+        assertEquals(taskList.getTasks().toString(), new Storage(filePath, config).loadTasks().toString());
+    }
+
+    @Test
+    void testTaskIdsSurviveReload() throws IOException {
+        Path textPath = tempDir.resolve("tasks.txt");
+        Files.write(textPath, List.of("[T][ ] read books (Priority: LOW)", "[T][ ] borrow books (Priority: LOW)",
+                "[T][X] return books (Priority: HIGH)"));
+        Storage storage = new Storage(textPath.toString());
+        TaskList taskList = TaskList.wrap(storage.loadTasks());
+        assertEquals(3, taskList.getTasks().get(2).getId());
+        taskList.deleteTask(0);
+        taskList.addTask(new Todo("buy books"));
+        storage.persist(taskList);
+        storage.close();
+
+        List<Long> expectedIds = List.of(2L, 3L, 4L);
+        assertEquals(expectedIds, idsOf(new Storage(textPath.toString()).loadTasks()));
+        StorageConfig lazy = StorageConfig.defaults().withLoadMode(LoadMode.LAZY);
+        assertEquals(expectedIds, idsOf(new Storage(textPath.toString(), lazy).loadTasks()));
+
+        new Storage(textPath.toString()).saveTasks(new Storage(textPath.toString(), lazy).loadTasks());
+        String binaryPath = tempDir.resolve("tasks.bin").toString();
+        StorageConverter.convert(textPath.toString(), binaryPath, StorageBackend.BINARY);
+        assertEquals(expectedIds, idsOf(new Storage(binaryPath).loadTasks()));
+    }
+
+    @Test
+    void testDeletedTaskIdsAreNotReusedAfterRestart() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(filePath);
+        TaskList taskList = storage.loadTaskList();
+        for (int i = 1; i <= 9; i++) {
+            taskList.addTask(new Todo("task " + i));
+        }
+        storage.persist(taskList);
+        taskList.deleteTask(8);
+        taskList.deleteTask(7);
+        storage.persist(taskList);
+        storage.close();
+
+        storage = new Storage(filePath);
+        taskList = storage.loadTaskList();
+        assertEquals(9, taskList.getLastId());
+        taskList.addTask(new Todo("task 10"));
+        assertEquals(10, taskList.getTasks().get(7).getId());
+        taskList.deleteTask(7);
+        storage.persist(taskList);
+        storage.saveTasks(taskList);
+        storage.close();
+
+        StorageConfig lazy = StorageConfig.defaults().withLoadMode(LoadMode.LAZY);
+        taskList = new Storage(filePath, lazy).loadTaskList();
+        taskList.addTask(new Todo("task 11"));
+        assertEquals(11, taskList.getTasks().get(7).getId());
+
+        String binaryPath = tempDir.resolve("tasks.bin").toString();
+        StorageConverter.convert(filePath, binaryPath, StorageBackend.BINARY);
+        assertEquals(10, new Storage(binaryPath).loadTaskList().getLastId());
+    }
+
+    @Test
+    void testInMemoryBackend() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        StorageConfig config = StorageConfig.defaults().withBackend(StorageBackend.MEMORY);
+        Storage storage = new Storage(filePath, config);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        taskList.addTask(new Todo("read books"));
+        storage.persist(taskList);
+        storage.close();
+
+        assertEquals(taskList.getTasks(), new Storage(filePath, config).loadTasks());
+        assertFalse(Files.exists(tempDir.resolve("tasks.txt")));
+        assertFalse(Files.exists(tempDir.resolve("tasks.txt.journal")));
+    }
+
+    @Test
+    void testLazyLoadParsesOnlyReadTasks() throws IOException {
+        String filePath = tempDir.resolve("tasks.txt").toString();
+        List<Task> tasks = List.of(new Todo("read books"), new Deadline("assignment", "2002-10-12 1500"),
+                new Event("something", "2002-10-10 1600", "2002-10-11 1600"));
+        new Storage(filePath).saveTasks(tasks);
+
+        Storage storage = new Storage(filePath, StorageConfig.defaults().withLoadMode(LoadMode.LAZY));
+        List<Task> loaded = storage.loadTasks();
+        assertEquals(0, ((LazyRecordList) loaded).getMaterializedCount());
+        TaskList taskList = TaskList.wrap(loaded);
+        taskList.markTaskAsDone(1);
+        taskList.addTask(new Todo("borrow books"));
+        assertEquals(2, ((LazyRecordList) loaded).getMaterializedCount());
+
+        storage.saveTasks(taskList.getTasks());
+        assertEquals(List.of("GENERATION 2", "#1 [T][ ] read books (Priority: LOW)",
+                "#2 [D][X] assignment (Priority: LOW) (by: Oct 12 2002 1500)",
+                "#3 [E][ ] something (Priority: LOW) (from: Oct 10 2002 1600 to: Oct 11 2002 1600)",
+                "#4 [T][ ] borrow books (Priority: LOW)"), Files.readAllLines(tempDir.resolve("tasks.txt")));
+    }
+
+    @Test
+    void testBatchRunPersistsAtCheckpointsAndEnd() throws IOException {
+        Path taskFile = tempDir.resolve("tasks.txt");
+        String script = "todo read books\n\nmark 1\nmark x\ntodo borrow books\nupgrade 2\nbye\ntodo never run\n";
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        BatchRunner.Report report = new BatchRunner(new Storage(taskFile.toString()), 2, new PrintStream(errors))
+                .run(new BufferedReader(new StringReader(script)));
+
+        assertEquals(5, report.getCommandCount());
+        assertEquals(1, report.getFailureCount());
+        assertEquals(2, report.getTaskCount());
+        assertTrue(errors.toString().startsWith("Line 4: "));
+        Path journal = tempDir.resolve("tasks.txt.journal");
+        assertTrue(!Files.exists(journal) || Files.size(journal) == 0);
+        List<Task> tasks = new Storage(taskFile.toString()).loadTasks();
+        assertEquals("[T][X] read books (Priority: LOW)", tasks.get(0).toString());
+        assertEquals("[T][ ] borrow books (Priority: MEDIUM)", tasks.get(1).toString());
+    }
+
+    private static List<Long> idsOf(List<Task> tasks) {
+        List<Long> ids = new ArrayList<>();
+        for (Task task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+
+    private static Path shardFile(Path shards, String key) throws IOException {
+        for (String line : Files.readAllLines(shards.resolve("manifest"))) {
+            String[] fields = line.split(" ");
+            if (fields[0].equals("shard") && fields[1].equals(key)) {
+                return shards.resolve(fields[2]);
+            }
+        }
+        return null;
+    }
+}
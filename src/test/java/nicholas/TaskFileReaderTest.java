@@ -0,0 +1,64 @@
+package nicholas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import nicholas.storage.TaskFileReader;
+
+public class TaskFileReaderTest {
+    /** The size of the blocks TaskFileReader reads. */
+    private static final int BLOCK_SIZE = 1 << 20;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCrlfEndings() throws IOException {
+        assertEquals(List.of("read books", "borrow books"), readLines("read books\r\nborrow books\r\n"));
+    }
+
+    @Test
+    void testMissingFinalNewline() throws IOException {
+        assertEquals(List.of("read books", "borrow books"), readLines("read books\nborrow books"));
+        assertEquals(List.of("read books", "borrow books"), readLines("read books\r\nborrow books"));
+    }
+
+    @Test
+    void testBlankLinesAreSkipped() throws IOException {
+        assertEquals(List.of("read books", "borrow books"), readLines("\nread books\n\n\r\nborrow books\n\n"));
+        assertEquals(List.of(), readLines(""));
+    }
+
+    @Test
+    void testLineLongerThanBlock() throws IOException {
+        String longLine = "a".repeat(BLOCK_SIZE * 3 + 7);
+        assertEquals(List.of("read books", longLine, "borrow books"),
+                readLines("read books\n" + longLine + "\nborrow books\n"));
+    }
+
+    @Test
+    void testCharacterSplitAcrossBlocks() throws IOException {
+        // The first line ends one byte before the block boundary, so the three bytes of the
+        // character after it straddle the boundary.
+        String firstLine = "a".repeat(BLOCK_SIZE - 2);
+        String secondLine = "\u6f22\u00e9 read books";
+        assertEquals(List.of(firstLine, secondLine), readLines(firstLine + "\n" + secondLine + "\n"));
+    }
+
+    private List<String> readLines(String contents) throws IOException {
+        Path path = tempDir.resolve("tasks.txt");
+        Files.write(path, contents.getBytes(StandardCharsets.UTF_8));
+        List<String> lines = new ArrayList<>();
+        TaskFileReader.forEachLine(path, lines::add);
+        return lines;
+    }
+}
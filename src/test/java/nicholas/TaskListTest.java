@@ -2,9 +2,28 @@ package nicholas;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import nicholas.tasks.Deadline;
+import nicholas.tasks.Event;
+import nicholas.tasks.Priority;
+import nicholas.tasks.Task;
+import nicholas.tasks.TaskChange;
+import nicholas.tasks.TaskFilter;
 import nicholas.tasks.TaskList;
+import nicholas.tasks.TimeSlot;
 import nicholas.tasks.Todo;
 
 public class TaskListTest {
@@ -26,4 +45,258 @@ public class TaskListTest {
         taskList.deleteTask(0);
         assertNotEquals(new Todo("read books").toString(), taskList.getTasks().get(0).toString());
     }
+
+    @Test
+    void testChangeTracking() {
+        TaskList taskList = new TaskList(List.of(new Todo("read books")));
+        assertFalse(taskList.hasPendingChanges());
+        taskList.markTaskAsUndone(0);
+        taskList.downgradeTask(0);
+        assertEquals(0, taskList.getModificationCount());
+
+        taskList.markTaskAsDone(0);
+        taskList.upgradeTask(0);
+        taskList.addTask(new Todo("borrow books"));
+        List<TaskChange> changes = taskList.drainChanges();
+        assertEquals(2, changes.size());
+        assertEquals(TaskChange.Type.UPDATED, changes.get(0).getType());
+        assertEquals(TaskChange.Type.ADDED, changes.get(1).getType());
+        assertFalse(taskList.hasPendingChanges());
+    }
+
+    @Test
+    void testDeleteTasksRecordsRemovalsFromTheEnd() {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 10; i++) {
+            taskList.addTask(new Todo("task " + i));
+        }
+        taskList.drainChanges();
+        BitSet positions = new BitSet();
+        positions.set(2);
+        positions.set(5, 8);
+
+        List<Task> deleted = taskList.deleteTasks(positions);
+        assertEquals(4, deleted.size());
+        assertEquals("task 2", deleted.get(0).getDescription());
+        assertEquals(6, taskList.size());
+        assertEquals("task 8", taskList.getTasks().get(4).getDescription());
+
+        // Replaying the recorded removals one by one must give the same list.
+        List<Task> replayed = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            replayed.add(new Todo("task " + i));
+        }
+        for (TaskChange change : taskList.drainChanges()) {
+            assertEquals(TaskChange.Type.REMOVED, change.getType());
+            replayed.remove(change.getIndex());
+        }
+        assertEquals(taskList.getTasks().toString(), replayed.toString());
+    }
+
+    @Test
+    void testFindTasksKeepsIndexUpToDate() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("read books"));
+        taskList.addTask(new Todo("Borrow books from library"));
+        taskList.addTask(new Todo("return pen"));
+        assertEquals(2, taskList.findTasks("book").size());
+        assertEquals(1, taskList.findTasks("books LIB").size());
+        assertEquals(2, taskList.findTasks("read | pen").size());
+        assertEquals(0, taskList.findTasks("ooks").size());
+        assertEquals(2, taskList.findTasksContaining("ooks").size());
+
+        taskList.deleteTask(0);
+        taskList.addTask(new Todo("read more books"));
+        taskList.replaceTask(1, new Todo("return book"));
+        List<Task> matches = taskList.findTasks("book");
+        assertEquals(3, matches.size());
+        assertEquals("Borrow books from library", matches.get(0).getDescription());
+        assertEquals("return book", matches.get(1).getDescription());
+        assertEquals("read more books", matches.get(2).getDescription());
+        assertEquals(0, taskList.findTasks("pen").size());
+        taskList.addTask(new Todo("call mum!!!"));
+        assertEquals(1, taskList.findTasks("!!!").size());
+
+        BitSet positions = new BitSet();
+        positions.set(0, 2);
+        taskList.deleteTasks(positions);
+        assertEquals(List.of(taskList.getTasks().get(0)), taskList.findTasks("books"));
+    }
+
+    @Test
+    void testSelectTasksKeepsBitmapsUpToDate() {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 150; i++) {
+            taskList.addTask(i % 3 == 0 ? new Todo("task " + i)
+                    : new Deadline("task " + i, LocalDateTime.of(2026, 10, 20, 12, 0)));
+        }
+        TaskFilter undoneHighDeadlines = TaskFilter.ALL.withDone(false).withPriority(Priority.HIGH).withTaskType("D");
+        assertEquals(0, taskList.countTasks(undoneHighDeadlines));
+
+        for (int i = 0; i < 150; i += 4) {
+            taskList.upgradeTask(i);
+            taskList.upgradeTask(i);
+        }
+        for (int i = 0; i < 150; i += 5) {
+            taskList.markTaskAsDone(i);
+        }
+        taskList.deleteTask(63);
+        taskList.deleteTask(0);
+        taskList.addTask(new Todo("new task"));
+        taskList.replaceTask(10, new Event("party", LocalDateTime.of(2026, 10, 20, 18, 0),
+                LocalDateTime.of(2026, 10, 20, 22, 0)));
+        BitSet positions = new BitSet();
+        positions.set(60, 70);
+        taskList.deleteTasks(positions);
+        taskList.markTaskAsUndone(19);
+        taskList.downgradeTask(4);
+
+        List<TaskFilter> filters = List.of(TaskFilter.ALL, undoneHighDeadlines, TaskFilter.ALL.withDone(true),
+                TaskFilter.ALL.withPriority(Priority.MEDIUM), TaskFilter.ALL.withTaskType("E"),
+                TaskFilter.ALL.withDone(false).withTaskType("T"));
+        for (TaskFilter filter : filters) {
+            BitSet expected = new BitSet();
+            for (int i = 0; i < taskList.size(); i++) {
+                if (filter.matches(taskList.getTasks().get(i))) {
+                    expected.set(i);
+                }
+            }
+            assertEquals(expected, taskList.selectTasks(filter), filter.toString());
+            assertEquals(expected.cardinality(), taskList.countTasks(filter));
+        }
+        assertNotEquals(0, taskList.countTasks(undoneHighDeadlines));
+    }
+
+    @Test
+    void testFindTasksDueKeepsTimeIndexUpToDate() {
+        TaskList taskList = new TaskList();
+        Deadline essay = new Deadline("essay", LocalDateTime.of(2026, 10, 20, 12, 0));
+        Event trip = new Event("trip", LocalDateTime.of(2026, 10, 20, 12, 0), LocalDateTime.of(2026, 10, 22, 0, 0));
+        Deadline report = new Deadline("report", LocalDateTime.of(2026, 10, 15, 9, 0));
+        taskList.addTask(new Todo("read"));
+        taskList.addTask(trip);
+        taskList.addTask(essay);
+        taskList.addTask(report);
+        LocalDateTime now = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+        assertEquals(List.of(report, essay, trip),
+                taskList.findTasksDueBetween(null, LocalDateTime.of(2026, 11, 1, 0, 0)));
+        assertEquals(List.of(essay, trip), taskList.findTasksDueBetween(now, LocalDateTime.of(2026, 10, 20, 12, 1)));
+        assertEquals(List.of(), taskList.findTasksDueBetween(now, LocalDateTime.of(2026, 10, 20, 12, 0)));
+        assertEquals(List.of(report), taskList.findOverdueTasks(now));
+
+        taskList.markTaskAsDone(3);
+        assertEquals(List.of(), taskList.findOverdueTasks(now));
+        Deadline memo = new Deadline("memo", LocalDateTime.of(2026, 10, 1, 9, 0));
+        taskList.replaceTask(2, memo);
+        taskList.deleteTask(1);
+        taskList.addTask(new Deadline("essay", LocalDateTime.of(2026, 10, 20, 12, 0)));
+        assertEquals(List.of(memo), taskList.findOverdueTasks(now));
+        assertEquals(List.of(memo, report), taskList.findTasksDueBetween(null, now));
+
+        BitSet positions = new BitSet();
+        positions.set(1, 3);
+        taskList.deleteTasks(positions);
+        assertEquals(List.of(taskList.getTasks().get(1)), taskList.findTasksDueBetween(null, LocalDateTime.MAX));
+    }
+
+    @Test
+    void testEventConflictsMatchPairwiseComparison() {
+        Random random = new Random(24);
+        LocalDateTime start = LocalDateTime.of(2026, 10, 1, 0, 0);
+        TaskList taskList = new TaskList();
+        for (int round = 0; round < 2000; round++) {
+            if (taskList.size() > 0 && random.nextInt(4) == 0) {
+                taskList.deleteTask(random.nextInt(taskList.size()));
+                continue;
+            }
+            LocalDateTime from = start.plusMinutes(random.nextInt(20000));
+            Event event = new Event("event " + round, from, from.plusMinutes(random.nextInt(600)));
+            taskList.addTask(event);
+
+            List<Event> expected = new ArrayList<>();
+            for (Task task : taskList.getTasks()) {
+                Event other = (Event) task;
+                if (other != event && other.getFromMinute() < event.getToMinute()
+                        && other.getToMinute() > event.getFromMinute()) {
+                    expected.add(other);
+                }
+            }
+            List<Event> conflicts = taskList.findConflictingEvents(event);
+            assertEquals(expected.size(), conflicts.size());
+            assertTrue(conflicts.containsAll(expected));
+        }
+    }
+
+    @Test
+    void testFindFreeSlots() {
+        TaskList taskList = new TaskList();
+        LocalDateTime day = LocalDateTime.of(2026, 10, 20, 0, 0);
+        taskList.addTask(new Event("standup", day.withHour(9), day.withHour(10)));
+        taskList.addTask(new Event("workshop", day.withHour(11), day.withHour(15)));
+        taskList.addTask(new Event("lunch", day.withHour(12), day.withHour(13)));
+        taskList.addTask(new Todo("read"));
+
+        List<TimeSlot> slots = taskList.findFreeSlots(Duration.ofMinutes(60), day.withHour(8), day.withHour(18));
+        assertEquals(3, slots.size());
+        assertEquals("Oct 20 2026 0800 to Oct 20 2026 0900", slots.get(0).toString());
+        assertEquals("Oct 20 2026 1000 to Oct 20 2026 1100", slots.get(1).toString());
+        assertEquals(Duration.ofHours(3), slots.get(2).getLength());
+        assertEquals(1, taskList.findFreeSlots(Duration.ofHours(2), day.withHour(8), day.withHour(18)).size());
+
+        taskList.deleteTask(1);
+        assertEquals(List.of(new TimeSlot(day.withHour(10), day.withHour(12)).toString(),
+                new TimeSlot(day.withHour(13), day.withHour(18)).toString()),
+                taskList.findFreeSlots(Duration.ofHours(2), day.withHour(8), day.withHour(18)).stream()
+                        .map(TimeSlot::toString).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testTaskIdsStayWhenTasksAreDeleted() {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 200; i++) {
+            taskList.addTask(new Todo("task " + i));
+        }
+        Task task = taskList.getTasks().get(150);
+        assertEquals(151, task.getId());
+        assertSame(task, taskList.getTaskById(151));
+
+        taskList.deleteTask(3);
+        BitSet positions = new BitSet();
+        positions.set(10, 20);
+        taskList.deleteTasks(positions);
+        assertEquals(151, task.getId());
+        assertSame(task, taskList.getTaskById(151));
+        assertEquals(139, taskList.indexOfTaskId(151));
+        assertNull(taskList.getTaskById(4));
+        assertEquals(-1, taskList.indexOfTaskId(4));
+
+        Todo replacement = new Todo("replacement");
+        taskList.replaceTask(139, replacement);
+        assertEquals(151, replacement.getId());
+        assertSame(replacement, taskList.getTaskById(151));
+
+        taskList.deleteTask(taskList.size() - 1);
+        Todo added = new Todo("added");
+        taskList.addTask(added);
+        assertEquals(201, added.getId());
+        assertEquals(taskList.size() - 1, taskList.indexOfTaskId(201));
+    }
+
+    @Test
+    void testAssignIdsKeepsIdsIncreasing() {
+        List<Task> tasks = new ArrayList<>();
+        long[] storedIds = {0, 5, 0, 3, 9};
+        for (long id : storedIds) {
+            Task task = new Todo("task " + id);
+            task.setId(id);
+            tasks.add(task);
+        }
+        TaskList taskList = new TaskList(tasks);
+        assertEquals(List.of(1L, 5L, 6L, 7L, 9L), taskList.getTasks().stream().map(Task::getId)
+                .collect(Collectors.toList()));
+        Todo added = new Todo("added");
+        taskList.addTask(added);
+        assertEquals(10, added.getId());
+    }
 }
@@ -0,0 +1,120 @@
+package nicholas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import nicholas.tasks.Deadline;
+import nicholas.tasks.Event;
+import nicholas.tasks.Priority;
+import nicholas.tasks.Task;
+import nicholas.tasks.Todo;
+import nicholas.ui.Parser;
+import nicholas.ui.TaskRecordParser;
+
+public class TaskRecordParserTest {
+    private static final String ALPHABET =
+            "abcdefghijklmnopqrstuvwxyz ABCXYZ 0123456789 -_,.!?'\"[](){}:;#\u00e9\u6f22";
+    private static final int FUZZ_RUNS = 20000;
+
+    @Test
+    void testMatchesLegacyParser() {
+        Random random = new Random(42);
+        Parser parser = new Parser();
+        for (int i = 0; i < FUZZ_RUNS; i++) {
+            String description = randomDescription(random);
+            if (!isUnambiguousForLegacy(description)) {
+                continue;
+            }
+            String record = randomTask(random, description).toString();
+            Task expected = parser.parseTaskLegacy(record);
+            Task actual = TaskRecordParser.parse(record);
+            assertEquals(expected.getClass(), actual.getClass(), record);
+            assertEquals(expected.toString(), actual.toString(), record);
+        }
+    }
+
+    @Test
+    void testRoundTripsAnyDescription() {
+        Random random = new Random(7);
+        for (int i = 0; i < FUZZ_RUNS; i++) {
+            Task task = randomTask(random, randomDescription(random).trim());
+            assertEquals(task.toString(), TaskRecordParser.parse(task.toString()).toString());
+        }
+        Task tricky = new Event("fly to: Oslo (by: plane) (Priority: HIGH)", LocalDateTime.of(2026, 1, 2, 3, 4),
+                LocalDateTime.of(2026, 1, 3, 3, 4));
+        assertEquals(tricky.toString(), TaskRecordParser.parse(tricky.toString()).toString());
+    }
+
+    @Test
+    void testRejectsMalformedRecords() {
+        assertThrows(IllegalArgumentException.class, () -> TaskRecordParser.parse("[X][ ] what (Priority: LOW)"));
+        assertThrows(IllegalArgumentException.class, () -> TaskRecordParser.parse("[D][ ] report (Priority: LOW)"));
+        assertThrows(IllegalArgumentException.class, () ->
+                TaskRecordParser.parse("[D][ ] report (Priority: LOW) (by: Feb 30 2026 1000)"));
+        assertThrows(IllegalArgumentException.class, () ->
+                TaskRecordParser.parse("[T][ ] report (Priority: URGENT)"));
+        assertThrows(IllegalArgumentException.class, () -> TaskRecordParser.parse("#1x [T][ ] report (Priority: LOW)"));
+        assertThrows(IllegalArgumentException.class, () -> TaskRecordParser.parse("#"));
+        assertThrows(IllegalArgumentException.class, () -> TaskRecordParser.parse("#12"));
+        assertThrows(IllegalArgumentException.class, () -> TaskRecordParser.parse("#x y"));
+        assertThrows(IllegalArgumentException.class, () -> TaskRecordParser.parse("#0 [T][ ] report (Priority: LOW)"));
+        assertThrows(IllegalArgumentException.class, () ->
+                TaskRecordParser.parse("#1 #2 [T][ ] report (Priority: LOW)"));
+    }
+
+    @Test
+    void testReadsTaskIds() {
+        Task task = TaskRecordParser.parse("#42 [D][X] essay (Priority: HIGH) (by: Oct 20 2026 1200)");
+        assertEquals(42, task.getId());
+        assertEquals("[D][X] essay (Priority: HIGH) (by: Oct 20 2026 1200)", task.toString());
+        assertEquals("#42 [D][X] essay (Priority: HIGH) (by: Oct 20 2026 1200)", TaskRecordParser.format(task));
+        assertEquals(0, TaskRecordParser.parse("[T][ ] #1 fan (Priority: LOW)").getId());
+    }
+
+    private static String randomDescription(Random random) {
+        StringBuilder description = new StringBuilder();
+        int length = random.nextInt(30);
+        for (int i = 0; i < length; i++) {
+            description.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return description.toString();
+    }
+
+    /**
+     * The legacy parser finds markers by their first occurrence, so it misreads descriptions containing them.
+     */
+    private static boolean isUnambiguousForLegacy(String description) {
+        return !description.contains("by") && !description.contains("from:") && !description.contains("to:")
+                && !description.contains("(Priority:") && !description.contains("/");
+    }
+
+    private static Task randomTask(Random random, String description) {
+        Task task;
+        switch (random.nextInt(3)) {
+        case 0:
+            task = new Todo(description);
+            break;
+        case 1:
+            task = new Deadline(description, randomDate(random));
+            break;
+        default:
+            task = new Event(description, randomDate(random), randomDate(random));
+            break;
+        }
+        if (random.nextBoolean()) {
+            task.markAsDone();
+        }
+        task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+        return task;
+    }
+
+    private static LocalDateTime randomDate(Random random) {
+        return LocalDateTime.of(1970 + random.nextInt(130), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                random.nextInt(24), random.nextInt(60));
+    }
+}
@@ -0,0 +1,69 @@
+package nicholas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import nicholas.gui.Message;
+import nicholas.gui.TranscriptArchive;
+
+public class TranscriptArchiveTest {
+
+    @Test
+    void testPopReturnsPushedMessagesNewestPageFirst() throws IOException {
+        TranscriptArchive archive = new TranscriptArchive();
+        archive.push(List.of(new Message(true, "list"), new Message(false, "1. [T][ ] read books\n2. \\done")));
+        archive.push(List.of(new Message(true, "todo caf\u00e9 \u6f22"), new Message(false, "Got it.")));
+        assertEquals(4, archive.size());
+
+        assertEquals(List.of("U todo caf\u00e9 \u6f22", "N Got it."), describe(archive.pop(2)));
+        assertEquals(List.of("U list", "N 1. [T][ ] read books\n2. \\done"), describe(archive.pop(5)));
+        assertEquals(0, archive.size());
+        assertEquals(List.of(), archive.pop(5));
+
+        // Messages pushed after a pop go where the popped ones were.
+        archive.push(List.of(new Message(false, "Bye.")));
+        assertEquals(List.of("N Bye."), describe(archive.pop(1)));
+        archive.close();
+    }
+
+    @Test
+    void testHistoryCapKeepsOnlyTheNewestMessagesOnScreen() throws IOException {
+        // Mirrors how the transcript moves its oldest messages to the archive once it passes its limit.
+        int historyLimit = 3;
+        TranscriptArchive archive = new TranscriptArchive();
+        List<Message> onScreen = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            onScreen.add(new Message(i % 2 == 0, "message " + i));
+            if (onScreen.size() > historyLimit) {
+                List<Message> oldest = onScreen.subList(0, onScreen.size() - historyLimit);
+                archive.push(new ArrayList<>(oldest));
+                oldest.clear();
+            }
+        }
+        assertEquals(historyLimit, onScreen.size());
+        assertEquals(7, archive.size());
+
+        onScreen.addAll(0, archive.pop(4));
+        onScreen.addAll(0, archive.pop(4));
+        assertEquals(0, archive.size());
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add((i % 2 == 0 ? "U" : "N") + " message " + i);
+        }
+        assertEquals(expected, describe(onScreen));
+        archive.close();
+    }
+
+    private static List<String> describe(List<Message> messages) {
+        List<String> descriptions = new ArrayList<>();
+        for (Message message : messages) {
+            descriptions.add((message.isFromUser() ? "U" : "N") + " " + message.getText());
+        }
+        return descriptions;
+    }
+}